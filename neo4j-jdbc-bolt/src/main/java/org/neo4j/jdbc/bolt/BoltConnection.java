@@ -19,15 +19,19 @@
  */
 package org.neo4j.jdbc.bolt;
 
+import org.neo4j.driver.v1.Record;
 import org.neo4j.driver.v1.Session;
+import org.neo4j.driver.v1.StatementResult;
 import org.neo4j.driver.v1.Transaction;
 import org.neo4j.jdbc.*;
-import org.neo4j.jdbc.utils.UncaughtExceptionLogger;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.Callable;
 
 /**
  * @author AgileLARUS
@@ -35,11 +39,57 @@ import java.util.Properties;
  */
 public class BoltConnection extends Connection implements Loggable {
 
-	private Session     session;
-	private Transaction transaction;
+	private Session      session;
+	private SharedDriver driver;
+	private Transaction  transaction;
 	private boolean autoCommit = true;
 	private boolean loggable   = false;
 
+	/**
+	 * Are the autocommit statements run outside of an explicit transaction, so that their records are streamed ?
+	 */
+	private boolean streaming;
+
+	/**
+	 * Are the records of the results read ahead in a background thread ?
+	 */
+	private boolean readAhead;
+
+	/**
+	 * Are the flattened columns of a query reused by its next executions, instead of being discovered again ?
+	 */
+	private boolean flattenCache;
+
+	/**
+	 * Max number of statements of a batch sent without reading their summary, 0 for the whole batch.
+	 */
+	private int pipelineDepth;
+
+	/**
+	 * The read-ahead that is reading from the session, if any.
+	 */
+	private BoltReadAhead activeReadAhead;
+
+	/**
+	 * Query returning the version of the server, run once by driver.
+	 */
+	private static final String SERVER_VERSION_STATEMENT = "CALL dbms.components() yield name,versions WITH * WHERE name=\"Neo4j Kernel\" RETURN versions[0] AS version";
+
+	/**
+	 * Max number of queries whose flattened columns are cached.
+	 */
+	private static final int FLATTENED_SCHEMA_CACHE_SIZE = 100;
+
+	/**
+	 * Flattened columns of the last queries run by this connection, by query.
+	 */
+	private final Map<String, BoltResultSet.FlattenedSchema> flattenedSchemas = new LinkedHashMap<String, BoltResultSet.FlattenedSchema>(16, 0.75f,
+			true) {
+		@Override protected boolean removeEldestEntry(Map.Entry<String, BoltResultSet.FlattenedSchema> eldest) {
+			return size() > FLATTENED_SCHEMA_CACHE_SIZE;
+		}
+	};
+
 	/**
 	 * Constructor with Session and Properties.
 	 *
@@ -50,6 +100,23 @@ public class BoltConnection extends Connection implements Loggable {
 	public BoltConnection(Session session, Properties properties, String url) {
 		super(properties, url, BoltResultSet.DEFAULT_HOLDABILITY);
 		this.session = session;
+		this.streaming = Boolean.valueOf(properties.getProperty("streaming", "false"));
+		this.readAhead = Boolean.valueOf(properties.getProperty("readahead", "false"));
+		this.flattenCache = Boolean.valueOf(properties.getProperty("flattencache", "false"));
+		this.pipelineDepth = Integer.parseInt(properties.getProperty("pipelinedepth", "500"));
+	}
+
+	/**
+	 * Constructor with a Session borrowed from a shared driver, released when this connection is closed.
+	 *
+	 * @param session    Bolt Session
+	 * @param properties Driver properties
+	 * @param url        Url used for this connection
+	 * @param driver     The shared driver of the session
+	 */
+	BoltConnection(Session session, Properties properties, String url, SharedDriver driver) {
+		this(session, properties, url);
+		this.driver = driver;
 	}
 
 	/**
@@ -63,22 +130,147 @@ public class BoltConnection extends Connection implements Loggable {
 
 	/**
 	 * Getter for transaction.
+	 * Out of autocommit the transaction is begun here, by the first statement executed after <code>setAutoCommit(false)</code>,
+	 * <code>commit()</code> or <code>rollback()</code>, so an idle connection holds no transaction on the server.
 	 *
 	 * @return
 	 */
 	public Transaction getTransaction() {
+		this.stopReadAhead();
+		if (this.transaction == null && !this.autoCommit) {
+			this.transaction = this.session.beginTransaction();
+		}
 		return this.transaction;
 	}
 
+	/**
+	 * Are the autocommit statements run by the session, the server committing them once all their records are
+	 * pulled while the ResultSet is iterated ?
+	 *
+	 * @return
+	 */
+	public boolean isStreaming() {
+		return this.streaming;
+	}
+
+	/**
+	 * Are the records of the results read ahead in a background thread, up to the fetch size of the statement ?
+	 *
+	 * @return
+	 */
+	public boolean isReadAhead() {
+		return this.readAhead;
+	}
+
+	/**
+	 * Start reading a result in the background, once the previous read-ahead of this connection is stopped.
+	 */
+	synchronized BoltReadAhead startReadAhead(StatementResult iterator, int size) {
+		this.stopReadAhead();
+		this.activeReadAhead = new BoltReadAhead(iterator, size);
+		return this.activeReadAhead;
+	}
+
+	/**
+	 * Forget a read-ahead once its result is closed.
+	 */
+	synchronized void releaseReadAhead(BoltReadAhead readAhead) {
+		if (this.activeReadAhead == readAhead) {
+			this.activeReadAhead = null;
+		}
+	}
+
+	/**
+	 * Stop the background reading of a result, as the session is about to be used for something else : the rest of
+	 * that result is then read by its ResultSet.
+	 */
+	private synchronized void stopReadAhead() {
+		if (this.activeReadAhead != null) {
+			this.activeReadAhead.stop();
+			this.activeReadAhead = null;
+		}
+	}
+
+	/**
+	 * Are the flattened columns of a query reused by its next executions ?
+	 *
+	 * @return
+	 */
+	public boolean isFlattenCache() {
+		return this.flattenCache;
+	}
+
+	/**
+	 * Max number of statements of a batch sent without reading their summary, 0 for the whole batch.
+	 *
+	 * @return
+	 */
+	public int getPipelineDepth() {
+		return this.pipelineDepth;
+	}
+
+	/**
+	 * Get the flattened columns of a previous execution of a query, if any.
+	 */
+	synchronized BoltResultSet.FlattenedSchema getFlattenedSchema(String query) {
+		return this.flattenedSchemas.get(query);
+	}
+
+	/**
+	 * Cache the flattened columns of a query, for its next executions.
+	 */
+	synchronized void putFlattenedSchema(String query, BoltResultSet.FlattenedSchema schema) {
+		this.flattenedSchemas.put(query, schema);
+	}
+
+	/**
+	 * Forget the flattened columns of a query, if they are still the cached ones.
+	 */
+	synchronized void removeFlattenedSchema(String query, BoltResultSet.FlattenedSchema schema) {
+		if (this.flattenedSchemas.get(query) == schema) {
+			this.flattenedSchemas.remove(query);
+		}
+	}
+
 	/**
 	 * Getter for session.
 	 *
 	 * @return
 	 */
 	public Session getSession() {
+		this.stopReadAhead();
 		return this.session;
 	}
 
+	/**
+	 * Version of the server, fetched over this session the first time and then shared by the connections of the same driver.
+	 *
+	 * @return The version, <code>null</code> if it can't be fetched
+	 */
+	String getServerVersion() {
+		SharedDriver shared = this.driver;
+		String version = shared == null ? null : shared.getServerVersion();
+		if (version == null) {
+			this.stopReadAhead();
+			try {
+				Transaction transaction = this.transaction;
+				StatementResult rs = transaction != null && transaction.isOpen() ? transaction.run(SERVER_VERSION_STATEMENT) : this.session.run(SERVER_VERSION_STATEMENT);
+				if (rs != null && rs.hasNext()) {
+					Record record = rs.next();
+					if (record.containsKey("version")) {
+						version = record.get("version").asString();
+					}
+				}
+			} catch (Exception e) {
+				return null;
+			}
+			if (version != null && shared != null) {
+				shared.setServerVersion(version);
+			}
+		}
+		return version;
+	}
+
 	@Override public DatabaseMetaData getMetaData() throws SQLException {
 		return new BoltDatabaseMetaData(this);
 	}
@@ -89,16 +281,9 @@ public class BoltConnection extends Connection implements Loggable {
 
 	@Override public void setAutoCommit(boolean autoCommit) throws SQLException {
 		if (this.autoCommit != autoCommit) {
-			if (this.transaction != null && !this.autoCommit) {
+			if (!this.autoCommit) {
 				this.commit();
-				this.transaction.close();
-			}
-
-			if (this.autoCommit) {
-				//Simply restart the transaction
-				this.transaction = this.session.beginTransaction();
 			}
-
 			this.autoCommit = autoCommit;
 		}
 	}
@@ -111,21 +296,29 @@ public class BoltConnection extends Connection implements Loggable {
 	@Override public void commit() throws SQLException {
 		this.checkClosed();
 		this.checkAutoCommit();
-		if (this.transaction == null) {
-			throw new SQLException("The transaction is null");
+		this.stopReadAhead();
+		if (this.transaction != null) {
+			try {
+				this.transaction.success();
+				this.transaction.close();
+			} finally {
+				this.transaction = null;
+			}
 		}
-		this.transaction.success();
-		this.transaction.close();
-		this.transaction = this.session.beginTransaction();
 	}
 
 	@Override public void rollback() throws SQLException {
 		this.checkClosed();
 		this.checkAutoCommit();
-		if (this.transaction == null) {
-			throw new SQLException("The transaction is null");
+		this.stopReadAhead();
+		if (this.transaction != null) {
+			try {
+				this.transaction.failure();
+				this.transaction.close();
+			} finally {
+				this.transaction = null;
+			}
 		}
-		this.transaction.failure();
 	}
 
 	/*------------------------------*/
@@ -134,9 +327,6 @@ public class BoltConnection extends Connection implements Loggable {
 
 	@Override public Statement createStatement() throws SQLException {
 		this.checkClosed();
-		if (this.transaction == null && !this.autoCommit) {
-			this.transaction = this.session.beginTransaction();
-		}
 		return InstanceFactory
 				.debug(BoltStatement.class, new BoltStatement(this, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, ResultSet.CLOSE_CURSORS_AT_COMMIT),
 						this.isLoggable());
@@ -198,11 +388,17 @@ public class BoltConnection extends Connection implements Loggable {
 
 	@Override public void close() throws SQLException {
 		try {
+			this.stopReadAhead();
 			if (!this.isClosed()) {
 				session.close();
 			}
 		} catch (Exception e) {
 			throw new SQLException("A database access error has occurred");
+		} finally {
+			if (this.driver != null) {
+				this.driver.release();
+				this.driver = null;
+			}
 		}
 	}
 
@@ -210,45 +406,18 @@ public class BoltConnection extends Connection implements Loggable {
 	/*      isValid      */
 	/*-------------------*/
 	@Override public boolean isValid(int timeout) throws SQLException {
-		if (timeout < 0) {
-			throw new SQLException("Timeout can't be less than zero");
-		}
-		if (this.isClosed()) {
-			return false;
-		}
-
-		UncaughtExceptionLogger h = new UncaughtExceptionLogger();
-
-		Thread t = new Thread() {
-			public void run() {
-				Session session = getSession();
-				Transaction transaction = getTransaction();
+		this.stopReadAhead();
+		return this.validate(timeout, new Callable<Object>() {
+			@Override public Object call() {
+				Transaction transaction = BoltConnection.this.transaction;
 				if (transaction != null && transaction.isOpen()) {
-					transaction.run(FASTEST_STATEMENT);
+					transaction.run(FASTEST_STATEMENT).consume();
 				} else {
-					session.run(FASTEST_STATEMENT);
+					BoltConnection.this.session.run(FASTEST_STATEMENT).consume();
 				}
+				return null;
 			}
-		};
-
-		t.setUncaughtExceptionHandler(h);
-		try {
-			t.start();
-			t.join(timeout * 1000);
-		} catch (InterruptedException e) {
-		}
-
-		if (t.isAlive()) {
-			t.interrupt();
-			return false;
-		}
-
-		if (!h.getExceptions().isEmpty()) {
-			return false;
-		}
-
-		return true;
-
+		});
 	}
 
 	/*--------------------*/
@@ -19,13 +19,8 @@
  */
 package org.neo4j.jdbc.bolt;
 
-import org.neo4j.driver.v1.Record;
-import org.neo4j.driver.v1.StatementResult;
 import org.neo4j.jdbc.DatabaseMetaData;
 
-import java.sql.DriverManager;
-import java.sql.SQLException;
-
 /**
  * Provides metadata
  *
@@ -39,23 +34,11 @@ class BoltDatabaseMetaData extends DatabaseMetaData {
 
 		// compute database version
 		if (connection != null) {
-			try {
-				BoltConnection conn = (BoltConnection) DriverManager.getConnection(connection.getUrl(), connection.getProperties());
-				StatementResult rs = conn.getSession()
-						.run("CALL dbms.components() yield name,versions WITH * WHERE name=\"Neo4j Kernel\" RETURN versions[0] AS version");
-				if (rs != null && rs.hasNext()) {
-					Record record = rs.next();
-					if (record.containsKey("version")) {
-						databaseVersion = record.get("version").asString();
-					}
-				}
-				conn.close();
-			} catch (SQLException e) {
-				//e.printStackTrace();
+			String version = connection.getServerVersion();
+			if (version != null) {
+				databaseVersion = version;
 			}
-
 		}
-
 	}
 
 	public BoltDatabaseMetaData(BoltConnection connection) {
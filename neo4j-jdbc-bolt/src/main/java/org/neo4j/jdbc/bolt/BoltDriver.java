@@ -27,8 +27,6 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Properties;
 
-import static org.neo4j.driver.v1.Config.build;
-
 /**
  * @author AgileLARUS
  * @since 3.0.0
@@ -53,15 +51,16 @@ public class BoltDriver extends BaseDriver {
 			String boltUrl = url.replace(BaseDriver.JDBC_PREFIX, "").replaceAll("^(" + JDBC_BOLT_PREFIX + ":)([^/])", "$1//$2");
 			try {
 				Properties info = parseUrlProperties(boltUrl, props);
-				Config.ConfigBuilder builder = build();
-				if (info.containsKey("nossl")) {
-					builder = builder.withEncryptionLevel(Config.EncryptionLevel.NONE);
-				}
-				Config config = builder.toConfig();
 				AuthToken authToken = getAuthToken(info);
-				Driver driver = GraphDatabase.driver(boltUrl, authToken, config);
-				Session session = driver.session();
-				BoltConnection boltConnection = new BoltConnection(session, info, url);
+				SharedDriver driver = SharedDriver.acquire(boltUrl, authToken, info);
+				Session session;
+				try {
+					session = driver.session();
+				} catch (Exception e) {
+					driver.release();
+					throw e;
+				}
+				BoltConnection boltConnection = new BoltConnection(session, info, url, driver);
 				connection = InstanceFactory.debug(BoltConnection.class, boltConnection, BoltConnection.hasDebug(info));
 			} catch (Exception e) {
 				throw new SQLException(e);
@@ -20,6 +20,7 @@
 package org.neo4j.jdbc.bolt;
 
 import org.neo4j.jdbc.*;
+import org.neo4j.jdbc.utils.PreparedStatementBuilder;
 import org.neo4j.driver.v1.StatementResult;
 import org.neo4j.driver.v1.Transaction;
 import org.neo4j.driver.v1.summary.SummaryCounters;
@@ -37,14 +38,12 @@ import static java.util.Arrays.*;
  */
 public class BoltPreparedStatement extends PreparedStatement implements Loggable {
 
-	private Transaction transaction;
-	private int[]       rsParams;
+	private int[] rsParams;
 	private boolean loggable = false;
 	private List<HashMap<String, Object>> batchParameters;
 
 	public BoltPreparedStatement(BoltConnection connection, String rawStatement, int... rsParams) {
 		super(connection, rawStatement);
-		this.transaction = connection.getTransaction();
 		this.rsParams = rsParams;
 		this.batchParameters = new ArrayList<>();
 	}
@@ -53,7 +52,7 @@ public class BoltPreparedStatement extends PreparedStatement implements Loggable
 		this.checkClosed();
 		StatementResult result = executeInternal();
 
-		this.currentResultSet = InstanceFactory.debug(BoltResultSet.class, new BoltResultSet(this,result, this.rsParams), this.isLoggable());
+		this.currentResultSet = InstanceFactory.debug(BoltResultSet.class, new BoltResultSet(this, result, this.statement, this.rsParams), this.isLoggable());
 		this.currentUpdateCount = -1;
 		return currentResultSet;
 	}
@@ -83,9 +82,13 @@ public class BoltPreparedStatement extends PreparedStatement implements Loggable
 
 	private StatementResult executeInternal() throws SQLException {
 		this.checkClosed();
+		this.closeCurrentResultSet();
 
 		StatementResult result;
-		if (this.getConnection().getAutoCommit()) {
+		if (this.getConnection().getAutoCommit() && ((BoltConnection) this.getConnection()).isStreaming()) {
+			// The records are pulled while the ResultSet is iterated, and the server commits after the last one
+			result = ((BoltConnection) this.getConnection()).getSession().run(this.statement, this.parameters);
+		} else if (this.getConnection().getAutoCommit()) {
 			Transaction t = ((BoltConnection) this.getConnection()).getSession().beginTransaction();
 			result = t.run(this.statement, this.parameters);
 			t.success();
@@ -160,27 +163,92 @@ public class BoltPreparedStatement extends PreparedStatement implements Loggable
 
 	@Override public int[] executeBatch() throws SQLException {
 		this.checkClosed();
-		int[] result = new int[0];
+
+		int unwindBatchSize = this.connection.getUnwindBatchSize();
+		String unwind = unwindBatchSize > 0 ? PreparedStatementBuilder.toUnwindBatch(this.statement) : null;
+		if (unwind != null) {
+			return this.executeUnwindBatch(unwind, unwindBatchSize);
+		}
+
+		int[] result = new int[this.batchParameters.size()];
+		int done = 0;
+		int pipelineDepth = this.getPipelineDepth();
 
 		try {
+			// Send the statements back to back, reading the oldest summary when pipelineDepth of them are waiting for theirs
+			StatementResult[] results = new StatementResult[result.length];
+			int i = 0;
 			for (Map<String, Object> parameter : this.batchParameters) {
-				StatementResult res;
-				if(this.connection.getAutoCommit()) {
-					res = ((BoltConnection) this.connection).getSession().run(this.statement, parameter);
+				if (i - done >= pipelineDepth) {
+					SummaryCounters count = results[done].consume().counters();
+					results[done] = null;
+					result[done++] = count.nodesCreated() + count.nodesDeleted();
+				}
+				if (this.connection.getAutoCommit()) {
+					results[i++] = ((BoltConnection) this.connection).getSession().run(this.statement, parameter);
+				} else {
+					results[i++] = ((BoltConnection) this.connection).getTransaction().run(this.statement, parameter);
+				}
+			}
+			for (; done < results.length; done++) {
+				SummaryCounters count = results[done].consume().counters();
+				result[done] = count.nodesCreated() + count.nodesDeleted();
+			}
+		} catch (Exception e) {
+			throw new BatchUpdateException(copyOf(result, done), e);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Execute the batch with statements that each run the prepared statement for several rows.
+	 * The update count of each row is unknown.
+	 *
+	 * @param unwind          The prepared statement rewritten with UNWIND
+	 * @param unwindBatchSize The max number of rows by statement
+	 */
+	private int[] executeUnwindBatch(String unwind, int unwindBatchSize) throws SQLException {
+		List<Map<String, Object>> batches = PreparedStatementBuilder.toUnwindBatchParameters(this.batchParameters, unwindBatchSize);
+		int[] result = new int[this.batchParameters.size()];
+		fill(result, SUCCESS_NO_INFO);
+		int done = 0;
+		int pipelineDepth = this.getPipelineDepth();
+
+		try {
+			StatementResult[] results = new StatementResult[batches.size()];
+			int consumed = 0;
+			for (int i = 0; i < results.length; i++) {
+				if (i - consumed >= pipelineDepth) {
+					results[consumed].consume();
+					results[consumed] = null;
+					done += ((List) batches.get(consumed++).get(PreparedStatementBuilder.UNWIND_BATCH_PARAMETER)).size();
+				}
+				if (this.connection.getAutoCommit()) {
+					results[i] = ((BoltConnection) this.connection).getSession().run(unwind, batches.get(i));
 				} else {
-					res = ((BoltConnection) this.connection).getTransaction().run(this.statement, parameter);
+					results[i] = ((BoltConnection) this.connection).getTransaction().run(unwind, batches.get(i));
 				}
-				SummaryCounters count = res.consume().counters();
-				result = copyOf(result, result.length + 1);
-				result[result.length - 1] = count.nodesCreated() + count.nodesDeleted();
+			}
+			for (; consumed < results.length; consumed++) {
+				results[consumed].consume();
+				done += ((List) batches.get(consumed).get(PreparedStatementBuilder.UNWIND_BATCH_PARAMETER)).size();
 			}
 		} catch (Exception e) {
-			throw new BatchUpdateException(result, e);
+			throw new BatchUpdateException(copyOf(result, done), e);
 		}
 
 		return result;
 	}
 
+	/**
+	 * Max number of statements of a batch sent without reading their summary.
+	 */
+	private int getPipelineDepth() {
+		int pipelineDepth = ((BoltConnection) this.connection).getPipelineDepth();
+		return pipelineDepth > 0 ? pipelineDepth : Integer.MAX_VALUE;
+	}
+
 	/*--------------------*/
 	/*       Logger       */
 	/*--------------------*/
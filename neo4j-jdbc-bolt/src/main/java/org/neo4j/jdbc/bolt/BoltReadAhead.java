@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 17/10/2026
+ */
+package org.neo4j.jdbc.bolt;
+
+import org.neo4j.driver.v1.Record;
+import org.neo4j.driver.v1.StatementResult;
+
+import java.sql.SQLException;
+import java.util.concurrent.*;
+
+/**
+ * Reads the records of a Bolt result in a background thread, at most <code>size</code> records ahead of the
+ * <code>ResultSet</code>, so that the network reads overlap with the processing of the rows.
+ * The connection stops the read-ahead before running anything else on its session : the records already read are
+ * then returned first, and the next ones are read by the caller.
+ *
+ * @author AgileLARUS
+ * @since 3.0.0
+ */
+class BoltReadAhead implements Runnable {
+
+	/**
+	 * Milliseconds the reader waits for free space in the buffer before checking if it was stopped.
+	 */
+	private static final long POLL_INTERVAL = 100;
+
+	private static final Object END = new Object();
+
+	/**
+	 * Threads of the readers, shared by all the results and kept for a while between them.
+	 */
+	private static final ExecutorService READERS = Executors.newCachedThreadPool(new ThreadFactory() {
+		@Override public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "neo4j-jdbc-read-ahead");
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
+
+	private final StatementResult       iterator;
+	private final BlockingQueue<Object> buffer;
+	private final Future<?>             reader;
+	private volatile boolean stopped  = false;
+	private          boolean finished = false;
+
+	/**
+	 * Element read but not added to the buffer because the read-ahead was stopped.
+	 */
+	private Object pending;
+
+	BoltReadAhead(StatementResult iterator, int size) {
+		this.iterator = iterator;
+		this.buffer = new ArrayBlockingQueue<>(size);
+		this.reader = READERS.submit(this);
+	}
+
+	@Override public void run() {
+		Object last = END;
+		try {
+			while (!this.stopped && this.iterator.hasNext()) {
+				if (!this.put(this.iterator.next())) {
+					return;
+				}
+			}
+			if (this.stopped) {
+				return;
+			}
+		} catch (Throwable e) {
+			last = e;
+		}
+		this.put(last);
+	}
+
+	/**
+	 * Wait for free space in the buffer and add an element, or keep it aside if the read-ahead is stopped.
+	 */
+	private boolean put(Object element) {
+		try {
+			while (!this.stopped) {
+				if (this.buffer.offer(element, POLL_INTERVAL, TimeUnit.MILLISECONDS)) {
+					return true;
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		this.pending = element;
+		return false;
+	}
+
+	/**
+	 * The next record, or <code>null</code> if there are no more records.
+	 */
+	Record next() throws SQLException {
+		if (this.finished) {
+			return null;
+		}
+		Object element;
+		if (this.stopped) {
+			element = this.buffer.poll();
+			if (element == null) {
+				element = this.pending;
+				this.pending = null;
+			}
+			if (element == null) {
+				// everything read in the background was returned, continue in the caller thread
+				try {
+					element = this.iterator.hasNext() ? this.iterator.next() : END;
+				} catch (Exception e) {
+					element = e;
+				}
+			}
+		} else {
+			try {
+				element = this.buffer.take();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new SQLException("Interrupted while waiting for the next record", e);
+			}
+		}
+		if (element instanceof Record) {
+			return (Record) element;
+		}
+		this.finished = true;
+		if (element instanceof Throwable) {
+			throw new SQLException("A database access error has occurred", (Throwable) element);
+		}
+		return null;
+	}
+
+	/**
+	 * Stop reading in the background and wait for the reader to exit, so that the session can be used by the caller.
+	 * The records already read are kept for <code>next</code>.
+	 */
+	void stop() {
+		if (this.stopped) {
+			return;
+		}
+		this.stopped = true;
+		boolean interrupted = false;
+		while (true) {
+			try {
+				this.reader.get();
+				break;
+			} catch (ExecutionException e) {
+				// the reader catches its errors
+				break;
+			} catch (InterruptedException e) {
+				// the session can't be used before the reader exits, that happens within POLL_INTERVAL or the current read
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Stop reading and discard the records read ahead.
+	 */
+	void close() {
+		this.stop();
+		this.buffer.clear();
+		this.pending = null;
+		this.finished = true;
+	}
+}
@@ -25,6 +25,7 @@ import org.neo4j.driver.v1.Record;
 import org.neo4j.driver.v1.StatementResult;
 import org.neo4j.driver.v1.Value;
 import org.neo4j.driver.v1.exceptions.value.Uncoercible;
+import org.neo4j.driver.v1.types.Entity;
 import org.neo4j.driver.v1.types.Node;
 import org.neo4j.driver.v1.types.Path;
 import org.neo4j.driver.v1.types.Relationship;
@@ -33,6 +34,7 @@ import org.neo4j.driver.v1.util.Pair;
 import org.neo4j.jdbc.*;
 import org.neo4j.jdbc.impl.ListArray;
 
+import java.io.IOException;
 import java.sql.SQLException;
 import java.util.*;
 
@@ -64,7 +66,49 @@ public class BoltResultSet extends ResultSet implements Loggable {
 
 	private int flatten;
 
-	private LinkedList<Record> prefetchedRecords = null;
+	private ArrayDeque<Record> prefetchedRecords = null;
+
+	/**
+	 * The keys of the flattened result, to know if a column is already there.
+	 */
+	private Set<String> keySet;
+
+	/**
+	 * Memory above which the records are written to disk, 0 if there is no limit.
+	 */
+	private long          maxResultMemory;
+	private BoltSpillFile spill;
+
+	/**
+	 * Cached flattened columns this result was opened with, checked against each row until one of them doesn't fit.
+	 */
+	private FlattenedSchema schema;
+	private BoltConnection  schemaConnection;
+	private String          schemaQuery;
+
+	/**
+	 * Number of records read ahead when the statement has no fetch size.
+	 */
+	private static final int DEFAULT_READ_AHEAD_SIZE = 100;
+
+	private BoltReadAhead readAhead;
+
+	/**
+	 * How to read each column, and the index of each column by label, built once the keys are known.
+	 */
+	private Column[]             columns;
+	private Map<String, Integer> columnIndexes;
+
+	/**
+	 * Buffer reused to write the nodes, relationships and paths as JSON.
+	 */
+	private final StringBuilder json = new StringBuilder();
+
+	/**
+	 * Maps already returned by <code>getObject</code> for the nodes and relationships of this result, by id.
+	 */
+	private final Map<Long, EntityMap> nodeMaps         = new EntityCache();
+	private final Map<Long, EntityMap> relationshipMaps = new EntityCache();
 
 	/**
 	 * Default constructor for this class, if no params are given or if some params are missing it uses the defaults.
@@ -75,13 +119,26 @@ public class BoltResultSet extends ResultSet implements Loggable {
 	 *                  The defaults are <code>TYPE_FORWARD_ONLY</code>,
 	 *                  <code>CONCUR_READ_ONLY</code>,
 	 */
-	public BoltResultSet(Statement statement, StatementResult iterator, int... params) {
+	public BoltResultSet(Statement statement, StatementResult iterator, int... params) throws SQLException {
+		this(statement, iterator, null, params);
+	}
+
+	/**
+	 * Constructor for the result of a query, whose flattened columns are cached by the connection for the next
+	 * executions of the same query.
+	 *
+	 * @param statement The <code>Statement</code> this ResultSet comes from
+	 * @param iterator  The <code>StatementResult</code> of this set
+	 * @param query     The text of the query, <code>null</code> not to cache its flattened columns
+	 * @param params    At most three, type, concurrency and holdability.
+	 */
+	public BoltResultSet(Statement statement, StatementResult iterator, String query, int... params) throws SQLException {
 		this.statement = statement;
 		this.iterator = iterator;
 
 		this.keys = new ArrayList<>();
 		this.classes = new ArrayList<>();
-		this.prefetchedRecords = new LinkedList<>();
+		this.prefetchedRecords = new ArrayDeque<>();
 
 		try {
 			this.flatten = this.statement.getConnection().getFlattening();
@@ -89,9 +146,39 @@ public class BoltResultSet extends ResultSet implements Loggable {
 			this.flatten = 0;
 		}
 
-		if (this.flatten != 0 && this.iterator != null && this.iterator.hasNext() && this.iterator.peek() != null && this.flatteningTypes(this.iterator)) {
-			//Flatten the result
-			this.flattenResultSet();
+		try {
+			this.maxResultMemory = this.statement.getConnection().getMaxResultMemory();
+		} catch (Exception e) {
+			this.maxResultMemory = 0;
+		}
+
+		BoltConnection connection = null;
+		try {
+			if (query != null && this.flatten != 0 && this.statement.getConnection() instanceof BoltConnection && ((BoltConnection) this.statement
+					.getConnection()).isFlattenCache()) {
+				connection = (BoltConnection) this.statement.getConnection();
+			}
+		} catch (Exception e) {
+			connection = null;
+		}
+		if (this.flatten != 0 && this.iterator != null && this.iterator.hasNext() && this.iterator.peek() != null && this.flatteningTypes(
+				this.iterator)) {
+			FlattenedSchema schema = connection == null ? null : connection.getFlattenedSchema(query);
+			if (schema != null && schema.recordKeys.equals(this.iterator.keys())) {
+				//Flattened columns of a previous execution of the query, no row is sampled : they are checked while iterating
+				this.keys = new ArrayList<>(schema.keys);
+				this.classes = new ArrayList<>(schema.classes);
+				this.schema = schema;
+				this.schemaConnection = connection;
+				this.schemaQuery = query;
+			} else {
+				//Flatten the result
+				this.prefetchSample();
+				this.flattenResultSet();
+				if (connection != null) {
+					connection.putFlattenedSchema(query, new FlattenedSchema(this.iterator.keys(), this.keys, this.classes));
+				}
+			}
 			this.flattened = true;
 		} else if (this.iterator != null) {
 			//Keys are exactly the ones returned from the iterator
@@ -103,6 +190,16 @@ public class BoltResultSet extends ResultSet implements Loggable {
 			}
 		}
 
+		if (this.maxResultMemory > 0 && this.iterator != null) {
+			this.spillResultSet();
+		}
+
+		this.buildColumns();
+
+		if (this.spill == null && this.maxResultMemory <= 0 && this.iterator != null) {
+			this.startReadAhead();
+		}
+
 		this.type = params.length > 0 ? params[0] : TYPE_FORWARD_ONLY;
 		this.concurrency = params.length > 1 ? params[1] : CONCUR_READ_ONLY;
 		this.holdability = params.length > 2 ? params[2] : CLOSE_CURSORS_AT_COMMIT;
@@ -110,24 +207,114 @@ public class BoltResultSet extends ResultSet implements Loggable {
 		this.metaData = InstanceFactory.debug(BoltResultSetMetaData.class, new BoltResultSetMetaData(this.classes, this.keys), this.isLoggable());
 	}
 
-	private void flattenResultSet() {
+	/**
+	 * Take out of the driver the records the columns are discovered from.
+	 */
+	private void prefetchSample() {
 		for (int i = 0; (this.flatten == -1 || i < this.flatten) && this.iterator.hasNext(); i++) {
 			this.prefetchedRecords.add(this.iterator.next());
-			this.flattenRecord(this.prefetchedRecords.getLast());
+		}
+	}
+
+	private void flattenResultSet() {
+		this.keySet = new HashSet<>();
+		for (Record record : this.prefetchedRecords) {
+			this.flattenRecord(record);
+		}
+		this.keySet = null;
+	}
+
+	/**
+	 * Add a column to the flattened result, if it is not there yet.
+	 */
+	private void addColumn(String key, Type type) {
+		if (this.keySet.add(key)) {
+			this.keys.add(key);
+			this.classes.add(type);
+		}
+	}
+
+	/**
+	 * Take all the records out of the driver, keeping in memory the ones that fit in <code>maxResultMemory</code>
+	 * and writing the others to disk.
+	 */
+	private void spillResultSet() throws SQLException {
+		long memory = 0;
+		for (Record record : this.prefetchedRecords) {
+			memory += BoltSpillFile.estimateSize(record);
+		}
+		try {
+			while (this.iterator.hasNext()) {
+				Record record = this.iterator.next();
+				if (this.spill == null && memory <= this.maxResultMemory) {
+					memory += BoltSpillFile.estimateSize(record);
+					this.prefetchedRecords.add(record);
+				} else {
+					if (this.spill == null) {
+						this.spill = new BoltSpillFile();
+					}
+					this.spill.write(record);
+				}
+			}
+		} catch (IOException e) {
+			if (this.spill != null) {
+				this.spill.close();
+			}
+			throw new SQLException("Can't write the result to disk", e);
+		}
+	}
+
+	/**
+	 * Start reading the records in the background if the connection asks for it, with a buffer as big as the fetch size.
+	 */
+	private void startReadAhead() {
+		BoltConnection connection;
+		int size;
+		try {
+			if (!(this.statement.getConnection() instanceof BoltConnection)) {
+				return;
+			}
+			connection = (BoltConnection) this.statement.getConnection();
+			// In autocommit the records are already buffered by the driver, unless they are streamed
+			if (!connection.isReadAhead() || (connection.getAutoCommit() && !connection.isStreaming())) {
+				return;
+			}
+			size = this.statement.getFetchSize();
+		} catch (Exception e) {
+			return;
+		}
+		this.readAhead = connection.startReadAhead(this.iterator, size > 0 ? size : DEFAULT_READ_AHEAD_SIZE);
+	}
+
+	/**
+	 * Build the plan of the columns : the virtual columns of the flattened nodes and relationships are split once here,
+	 * instead of on every access.
+	 */
+	private void buildColumns() {
+		this.columns = new Column[this.keys.size()];
+		this.columnIndexes = new HashMap<>(this.keys.size() * 2);
+		for (int i = 0; i < this.columns.length; i++) {
+			String key = this.keys.get(i);
+			int dot = key.indexOf('.');
+			if (!this.flattened || dot == -1) {
+				this.columns[i] = new Column(key, null);
+			} else {
+				this.columns[i] = new Column(key.substring(0, dot), key.substring(dot + 1));
+			}
+			if (!this.columnIndexes.containsKey(key)) {
+				this.columnIndexes.put(key, i);
+			}
 		}
 	}
 
 	private void flattenRecord(Record r) {
 		for (Pair<String, Value> pair : r.fields()) {
-			if (keys.indexOf(pair.key()) == -1) {
-				keys.add(pair.key());
-				classes.add(r.get(pair.key()).type());
-			}
-			Value val = r.get(pair.key());
-			if (ACCEPTED_TYPES_FOR_FLATTENING.get(0).equals(pair.value().type().name())) {
+			Value val = pair.value();
+			this.addColumn(pair.key(), val.type());
+			if (ACCEPTED_TYPES_FOR_FLATTENING.get(0).equals(val.type().name())) {
 				//Flatten node
 				this.flattenNode(val.asNode(), pair.key());
-			} else if (ACCEPTED_TYPES_FOR_FLATTENING.get(1).equals(pair.value().type().name())) {
+			} else if (ACCEPTED_TYPES_FOR_FLATTENING.get(1).equals(val.type().name())) {
 				//Flatten relationship
 				this.flattenRelationship(val.asRelationship(), pair.key());
 			}
@@ -135,34 +322,21 @@ public class BoltResultSet extends ResultSet implements Loggable {
 	}
 
 	private void flattenNode(Node node, String nodeKey) {
-		if (keys.indexOf(nodeKey + ".id") == -1) {
-			keys.add(nodeKey + ".id");
-			classes.add(InternalTypeSystem.TYPE_SYSTEM.INTEGER());
-			keys.add(nodeKey + ".labels");
-			classes.add(InternalTypeSystem.TYPE_SYSTEM.LIST());
-		}
+		String prefix = nodeKey + ".";
+		this.addColumn(prefix + "id", InternalTypeSystem.TYPE_SYSTEM.INTEGER());
+		this.addColumn(prefix + "labels", InternalTypeSystem.TYPE_SYSTEM.LIST());
 		for (String key : node.keys()) {
-			if (keys.indexOf(nodeKey + "." + key) == -1) {
-				keys.add(nodeKey + "." + key);
-				classes.add(node.get(key).type());
-			}
+			this.addColumn(prefix + key, node.get(key).type());
 		}
 	}
 
 	private void flattenRelationship(Relationship rel, String relationshipKey) {
-		if (keys.indexOf(relationshipKey + ".id") == -1) {
-			keys.add(relationshipKey + ".id");
-			classes.add(InternalTypeSystem.TYPE_SYSTEM.INTEGER());
-			keys.add(relationshipKey + ".type");
-			classes.add(InternalTypeSystem.TYPE_SYSTEM.STRING());
-		}
+		String prefix = relationshipKey + ".";
+		this.addColumn(prefix + "id", InternalTypeSystem.TYPE_SYSTEM.INTEGER());
+		this.addColumn(prefix + "type", InternalTypeSystem.TYPE_SYSTEM.STRING());
 		for (String key : rel.keys()) {
-			if (keys.indexOf(relationshipKey + "." + key) == -1) {
-				keys.add(relationshipKey + "." + key);
-				classes.add(rel.get(key).type());
-			}
+			this.addColumn(prefix + key, rel.get(key).type());
 		}
-
 	}
 
 	private boolean flatteningTypes(StatementResult statementResult) {
@@ -184,11 +358,24 @@ public class BoltResultSet extends ResultSet implements Loggable {
 		}
 		if (!this.prefetchedRecords.isEmpty()) {
 			this.current = this.prefetchedRecords.pop();
+		} else if (this.spill != null) {
+			try {
+				this.current = this.spill.readRecord(this.keys);
+			} catch (IOException e) {
+				throw new SQLException("Can't read the result from disk", e);
+			}
+		} else if (this.readAhead != null) {
+			this.current = this.readAhead.next();
 		} else if (this.iterator.hasNext()) {
 			this.current = this.iterator.next();
 		} else {
 			this.current = null;
 		}
+		if (this.schema != null && this.current != null && !this.schema.covers(this.current)) {
+			//The next execution discovers the columns again, with the properties this one can't show
+			this.schemaConnection.removeFlattenedSchema(this.schemaQuery, this.schema);
+			this.schema = null;
+		}
 		return this.current != null;
 	}
 
@@ -196,6 +383,27 @@ public class BoltResultSet extends ResultSet implements Loggable {
 		if (this.iterator == null) {
 			throw new SQLException("ResultCursor not initialized");
 		}
+		if (this.spill != null) {
+			this.spill.close();
+			this.spill = null;
+		}
+		if (this.readAhead != null) {
+			this.readAhead.close();
+			try {
+				((BoltConnection) this.statement.getConnection()).releaseReadAhead(this.readAhead);
+			} catch (Exception e) {
+				// the connection is closed, and so is its session
+			}
+			this.readAhead = null;
+		}
+		if (!this.isClosed) {
+			try {
+				// Discard the records not read yet, that could still be streamed by the server
+				this.iterator.consume();
+			} catch (Exception e) {
+				throw new SQLException("A database access error has occurred", e);
+			}
+		}
 		this.isClosed = true;
 	}
 
@@ -206,14 +414,12 @@ public class BoltResultSet extends ResultSet implements Loggable {
 
 	@Override public String getString(int columnIndex) throws SQLException {
 		checkClosed();
-		Value value = this.fetchValueFromIndex(columnIndex);
-		return this.getStringFromValue(value);
+		return this.fetchString(this.columnFromIndex(columnIndex));
 	}
 
 	@Override public String getString(String columnLabel) throws SQLException {
 		checkClosed();
-		Value value = this.fetchValueFromLabel(columnLabel);
-		return this.getStringFromValue(value);
+		return this.fetchString(this.columnFromLabel(columnLabel));
 	}
 
 	private String getStringFromValue(Value value) {
@@ -225,103 +431,120 @@ public class BoltResultSet extends ResultSet implements Loggable {
 			}
 		} catch (Uncoercible e) {
 			String result = null;
-			if (value instanceof NodeValue) {
-				result = this.convertNodeToString(value.asNode());
-			} else if (value instanceof RelationshipValue) {
-				result = this.convertRelationshipToString(value.asRelationship());
-			} else if (value instanceof PathValue) {
-				result = this.convertPathToString(value.asPath());
+			if (value instanceof NodeValue || value instanceof RelationshipValue || value instanceof PathValue) {
+				this.json.setLength(0);
+				this.appendJSON(value.asObject());
+				result = this.json.toString();
 			}
 			return result;
 		}
 	}
 
-	private String convertToJSONProperty(String key, Object value) {
-		String result = key == null ? "" : "\"" + key + "\":";
-
-		if (value instanceof String) {
-			result += "\"" + value + "\"";
-		} else if (value instanceof Number) {
-			result += value;
-		} else if (value instanceof StringValue) {
-			result += "\"" + ((StringValue) value).asString() + "\"";
-		} else if (value instanceof IntegerValue) {
-			result += ((IntegerValue) value).asLong();
-		} else if (value instanceof FloatValue) {
-			result += ((FloatValue) value).asFloat();
-		} else if (value instanceof BooleanValue) {
-			result += ((BooleanValue) value).asBoolean();
-		} else if (value instanceof ListValue) {
-			result += "[";
-			result += this.convertToJSONProperty(null, ((ListValue) value).asList());
-			result += "]";
-		} else if (value instanceof List) {
+	/**
+	 * Write a value as JSON into the shared buffer : nodes, relationships and paths with their properties.
+	 */
+	private void appendJSON(Object value) {
+		if (value == null) {
+			this.json.append("null");
+		} else if (value instanceof String) {
+			this.appendJSONString((String) value);
+		} else if (value instanceof Number || value instanceof Boolean) {
+			this.json.append(value);
+		} else if (value instanceof Node) {
+			Node node = (Node) value;
+			this.json.append("{\"id\":").append(node.id()).append(", \"labels\":");
+			this.appendJSON(node.labels());
+			this.appendJSONProperties(node);
+			this.json.append('}');
+		} else if (value instanceof Relationship) {
+			Relationship rel = (Relationship) value;
+			this.json.append("{\"id\":").append(rel.id()).append(", \"type\":");
+			this.appendJSONString(rel.type());
+			this.json.append(", \"startId\":").append(rel.startNodeId()).append(", \"endId\":").append(rel.endNodeId());
+			this.appendJSONProperties(rel);
+			this.json.append('}');
+		} else if (value instanceof Path) {
+			Path path = (Path) value;
+			this.json.append('[');
+			this.appendJSON(path.start());
+			for (Path.Segment segment : path) {
+				this.json.append(", ");
+				this.appendJSON(segment.relationship());
+				this.json.append(", ");
+				this.appendJSON(segment.end());
+			}
+			this.json.append(']');
+		} else if (value instanceof Map) {
 			String prefix = "";
-			result += "[";
-			for (Object obj : (List) value) {
-				result += prefix + this.convertToJSONProperty(null, obj);
+			this.json.append('{');
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				this.json.append(prefix);
+				this.appendJSONString(String.valueOf(entry.getKey()));
+				this.json.append(':');
+				this.appendJSON(entry.getValue());
 				prefix = ", ";
 			}
-			result += "]";
+			this.json.append('}');
 		} else if (value instanceof Iterable) {
 			String prefix = "";
-			result += "[";
+			this.json.append('[');
 			for (Object obj : (Iterable) value) {
-				result += prefix + this.convertToJSONProperty(null, obj);
+				this.json.append(prefix);
+				this.appendJSON(obj);
 				prefix = ", ";
 			}
-			result += "]";
-		}
-
-		return result;
-	}
-
-	private String convertNodeToString(Node node) {
-		String result = "{";
-
-		result += this.convertToJSONProperty("id", node.id()) + ", ";
-
-		result += this.convertToJSONProperty("labels", node.labels()) + (node.size() > 0 ? ", " : "");
-
-		String prefix = "";
-		for (String key : node.keys()) {
-			result += prefix + this.convertToJSONProperty(key, node.get(key));
-			prefix = ", ";
+			this.json.append(']');
+		} else {
+			this.appendJSONString(value.toString());
 		}
-
-		return result + "}";
 	}
 
-	private String convertRelationshipToString(Relationship rel) {
-		String result = "{";
-
-		result += this.convertToJSONProperty("id", rel.id()) + ", ";
-
-		result += this.convertToJSONProperty("type", rel.type()) + ", ";
-
-		result += this.convertToJSONProperty("startId", rel.startNodeId()) + ", ";
-		result += this.convertToJSONProperty("endId", rel.endNodeId()) + (rel.size() > 0 ? ", " : "");
-
-		String prefix = "";
-		for (String key : rel.keys()) {
-			result += prefix + this.convertToJSONProperty(key, rel.get(key));
-			prefix = ", ";
+	/**
+	 * Write the properties of an entity as JSON fields, each one after a separator.
+	 */
+	private void appendJSONProperties(Entity entity) {
+		for (String key : entity.keys()) {
+			Value property = entity.get(key);
+			this.json.append(", ");
+			this.appendJSONString(key);
+			this.json.append(':');
+			if (property instanceof FloatValue) {
+				this.json.append(property.asFloat());
+			} else {
+				this.appendJSON(property.asObject());
+			}
 		}
-
-		return result + "}";
 	}
 
-	private String convertPathToString(Path path) {
-		String result = "[";
-
-		result += this.convertNodeToString(path.start());
-
-		for (Path.Segment s : path) {
-			result += ", " + this.convertRelationshipToString(s.relationship());
-			result += ", " + this.convertNodeToString(s.end());
+	private void appendJSONString(String value) {
+		this.json.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+				case '"':
+					this.json.append("\\\"");
+					break;
+				case '\\':
+					this.json.append("\\\\");
+					break;
+				case '\n':
+					this.json.append("\\n");
+					break;
+				case '\r':
+					this.json.append("\\r");
+					break;
+				case '\t':
+					this.json.append("\\t");
+					break;
+				default:
+					if (c < 0x20) {
+						this.json.append(String.format("\\u%04x", (int) c));
+					} else {
+						this.json.append(c);
+					}
+			}
 		}
-
-		return result + "]";
+		this.json.append('"');
 	}
 
 	@Override public boolean getBoolean(String columnLabel) throws SQLException {
@@ -329,88 +552,106 @@ public class BoltResultSet extends ResultSet implements Loggable {
 		return this.fetchValueFromLabel(columnLabel).asBoolean();
 	}
 
-	private Value fetchPropertyValue(String key, String property) throws SQLException {
-		Value value;
-		try {
-			if ("id".equals(property)) {
-				//id requested
-				value = new IntegerValue(this.current.get(key).asEntity().id());
-			} else if ("labels".equals(property)) {
-				//node's labels requested
-				Node node = this.current.get(key).asNode();
-				List<Value> values = new ArrayList<>();
-				for (String label : node.labels()) {
-					values.add(new StringValue(label));
-				}
-				value = new ListValue(values.toArray(new Value[values.size()]));
-			} else if ("type".equals(property)) {
-				//Relationship's type requested
-				value = new StringValue(this.current.get(key).asRelationship().type());
-			} else {
-				//Property requested
-				value = this.current.get(key).get(property);
-			}
-		} catch (Exception e) {
+	private Column columnFromLabel(String label) throws SQLException {
+		Integer index = this.columnIndexes.get(label);
+		if (index == null) {
+			//No value found
 			throw new SQLException("Column not present in ResultSet");
 		}
-		return value;
+		return this.columns[index];
 	}
 
-	private Value fetchValueFromLabel(String label) throws SQLException {
-		Value value;
-		if (this.current.containsKey(label)) {
-			//Requested value is not flattened
-			value = this.current.get(label);
-		} else if (this.flattened && this.keys.contains(label)) {
-			//Requested value is flattened
-			String[] keys = label.split("\\.");
-			value = this.fetchPropertyValue(keys[0], keys[1]);
-		} else {
+	private Column columnFromIndex(int index) throws SQLException {
+		if (index <= 0 || index > this.columns.length) {
 			//No value found
 			throw new SQLException("Column not present in ResultSet");
 		}
+		return this.columns[index - 1];
+	}
+
+	private Value fetchValue(Column column) throws SQLException {
+		Value value = column.fetch(this.current);
 		this.wasNull = value.isNull();
 		return value;
 	}
 
+	private Value fetchValueFromLabel(String label) throws SQLException {
+		return this.fetchValue(this.columnFromLabel(label));
+	}
+
 	private Value fetchValueFromIndex(int index) throws SQLException {
-		Value value;
-		if (this.flattened && index > 0 && index - 1 <= this.keys.size()) {
-			//Requested value is to be considered from flattened results
-			String[] keys = this.keys.get(index - 1).split("\\.");
-			if (keys.length > 1) { //Requested value is a virtual column
-				value = this.fetchPropertyValue(keys[0], keys[1]);
-			} else {
-				//Requested value is the node/relationship itself
-				value = this.current.get(this.keys.get(index - 1));
-			}
-		} else if (index > 0 && index - 1 <= this.current.size()) {
-			//Requested value is not flattened
-			value = this.current.get(index - 1);
-		} else {
-			//No value found
-			throw new SQLException("Column not present in ResultSet");
+		return this.fetchValue(this.columnFromIndex(index));
+	}
+
+	/**
+	 * Read the id of a flattened node or relationship, without wrapping it into a value.
+	 */
+	private long fetchId(Column column) throws SQLException {
+		Value entity = column.field(this.current);
+		this.wasNull = entity.isNull();
+		return this.wasNull ? 0 : entity.asEntity().id();
+	}
+
+	private long fetchLong(Column column) throws SQLException {
+		return column.isId() ? this.fetchId(column) : this.fetchValue(column).asLong();
+	}
+
+	private int fetchInt(Column column) throws SQLException {
+		return column.isId() ? (int) this.fetchId(column) : this.fetchValue(column).asInt();
+	}
+
+	private double fetchDouble(Column column) throws SQLException {
+		return column.isId() ? this.fetchId(column) : this.fetchValue(column).asDouble();
+	}
+
+	private float fetchFloat(Column column) throws SQLException {
+		return column.isId() ? this.fetchId(column) : this.fetchValue(column).asFloat();
+	}
+
+	private String fetchString(Column column) throws SQLException {
+		String type = column.relationshipType(this.current);
+		if (type != null) {
+			this.wasNull = false;
+			return type;
 		}
-		this.wasNull = value.isNull();
-		return value;
+		return this.getStringFromValue(this.fetchValue(column));
+	}
+
+	private Object fetchObject(Column column) throws SQLException {
+		if (column.isId()) {
+			long id = this.fetchId(column);
+			return this.wasNull ? null : id;
+		}
+		String type = column.relationshipType(this.current);
+		if (type != null) {
+			this.wasNull = false;
+			return type;
+		}
+		List<Object> labels = column.nodeLabels(this.current);
+		if (labels != null) {
+			this.wasNull = false;
+			return labels;
+		}
+		return this.generateObject(this.fetchValue(column).asObject());
 	}
 
 	@Override public int getInt(String columnLabel) throws SQLException {
 		checkClosed();
-		return this.fetchValueFromLabel(columnLabel).asInt();
+		return this.fetchInt(this.columnFromLabel(columnLabel));
 	}
 
 	@Override public long getLong(String columnLabel) throws SQLException {
 		checkClosed();
-		return this.fetchValueFromLabel(columnLabel).asLong();
+		return this.fetchLong(this.columnFromLabel(columnLabel));
 	}
 
 	@Override public int findColumn(String columnLabel) throws SQLException {
 		checkClosed();
-		if (!this.keys.contains(columnLabel)) {
+		Integer index = this.columnIndexes.get(columnLabel);
+		if (index == null) {
 			throw new SQLException("Column not present in ResultSet");
 		}
-		return this.keys.indexOf(columnLabel) + 1;
+		return index + 1;
 	}
 
 	@Override public int getType() throws SQLException {
@@ -435,37 +676,37 @@ public class BoltResultSet extends ResultSet implements Loggable {
 
 	@Override public int getInt(int columnIndex) throws SQLException {
 		checkClosed();
-		return this.fetchValueFromIndex(columnIndex).asInt();
+		return this.fetchInt(this.columnFromIndex(columnIndex));
 	}
 
 	@Override public long getLong(int columnIndex) throws SQLException {
 		checkClosed();
-		return this.fetchValueFromIndex(columnIndex).asLong();
+		return this.fetchLong(this.columnFromIndex(columnIndex));
 	}
 
 	@Override public float getFloat(String columnLabel) throws SQLException {
 		checkClosed();
-		return this.fetchValueFromLabel(columnLabel).asFloat();
+		return this.fetchFloat(this.columnFromLabel(columnLabel));
 	}
 
 	@Override public float getFloat(int columnIndex) throws SQLException {
 		checkClosed();
-		return this.fetchValueFromIndex(columnIndex).asFloat();
+		return this.fetchFloat(this.columnFromIndex(columnIndex));
 	}
 
 	@Override public short getShort(String columnLabel) throws SQLException {
 		checkClosed();
-		return (short) this.fetchValueFromLabel(columnLabel).asInt();
+		return (short) this.fetchInt(this.columnFromLabel(columnLabel));
 	}
 
 	@Override public short getShort(int columnIndex) throws SQLException {
 		checkClosed();
-		return (short) this.fetchValueFromIndex(columnIndex).asInt();
+		return (short) this.fetchInt(this.columnFromIndex(columnIndex));
 	}
 
 	@Override public double getDouble(int columnIndex) throws SQLException {
 		checkClosed();
-		return this.fetchValueFromIndex(columnIndex).asDouble();
+		return this.fetchDouble(this.columnFromIndex(columnIndex));
 	}
 
 	@Override public Array getArray(int columnIndex) throws SQLException {
@@ -482,7 +723,7 @@ public class BoltResultSet extends ResultSet implements Loggable {
 
 	@Override public double getDouble(String columnLabel) throws SQLException {
 		checkClosed();
-		return this.fetchValueFromLabel(columnLabel).asDouble();
+		return this.fetchDouble(this.columnFromLabel(columnLabel));
 	}
 
 	@Override public ResultSetMetaData getMetaData() throws SQLException {
@@ -492,20 +733,20 @@ public class BoltResultSet extends ResultSet implements Loggable {
 	private Object generateObject(Object obj) {
 		if (obj instanceof Node) {
 			Node node = (Node) obj;
-			Map<String, Object> map = new HashMap<>();
-			map.put("_id", node.id());
-			map.put("_labels", node.labels());
-			map.putAll(node.asMap());
+			EntityMap map = this.nodeMaps.get(node.id());
+			if (map == null || !map.isViewOf(node)) {
+				map = new EntityMap(node);
+				this.nodeMaps.put(node.id(), map);
+			}
 			return map;
 		}
 		if (obj instanceof Relationship) {
 			Relationship rel = (Relationship) obj;
-			Map<String, Object> map = new HashMap<>(16);
-			map.put("_id", rel.id());
-			map.put("_type", rel.type());
-			map.put("_startId", rel.startNodeId());
-			map.put("_endId", rel.endNodeId());
-			map.putAll(rel.asMap());
+			EntityMap map = this.relationshipMaps.get(rel.id());
+			if (map == null || !map.isViewOf(rel)) {
+				map = new EntityMap(rel);
+				this.relationshipMaps.put(rel.id(), map);
+			}
 			return map;
 		}
 		if (obj instanceof Path) {
@@ -523,14 +764,12 @@ public class BoltResultSet extends ResultSet implements Loggable {
 
 	@Override public Object getObject(int columnIndex) throws SQLException {
 		checkClosed();
-		Object obj = this.fetchValueFromIndex(columnIndex).asObject();
-		return this.generateObject(obj);
+		return this.fetchObject(this.columnFromIndex(columnIndex));
 	}
 
 	@Override public Object getObject(String columnLabel) throws SQLException {
 		checkClosed();
-		Object obj = this.fetchValueFromLabel(columnLabel).asObject();
-		return this.generateObject(obj);
+		return this.fetchObject(this.columnFromLabel(columnLabel));
 	}
 
 	@Override public boolean isLoggable() {
@@ -552,4 +791,189 @@ public class BoltResultSet extends ResultSet implements Loggable {
 	@Override public java.sql.Statement getStatement() throws SQLException {
 		return statement;
 	}
+
+	/**
+	 * Bounded cache of the entity maps, the least recently used is evicted first.
+	 * A cached map is only reused if it is a view of the same values, see <code>EntityMap.isViewOf</code>.
+	 */
+	private static final class EntityCache extends LinkedHashMap<Long, EntityMap> {
+
+		private static final int MAX_ENTRIES = 1024;
+
+		EntityCache() {
+			super(16, 0.75F, true);
+		}
+
+		@Override protected boolean removeEldestEntry(Map.Entry<Long, EntityMap> eldest) {
+			return this.size() > MAX_ENTRIES;
+		}
+	}
+
+	/**
+	 * A column of the result : a field of the records, or a virtual column of a flattened node or relationship
+	 * (its id, labels, type or one of its properties).
+	 */
+	private static final class Column {
+
+		private static final int FIELD    = 0;
+		private static final int PROPERTY = 1;
+		private static final int ID       = 2;
+		private static final int LABELS   = 3;
+		private static final int TYPE     = 4;
+
+		private final String key;
+		private final String property;
+		private final int    kind;
+
+		/**
+		 * Position of the field in the records, resolved on the first access as all the records have the same keys.
+		 */
+		private int field = -1;
+
+		Column(String key, String property) {
+			this.key = key;
+			this.property = property;
+			if (property == null) {
+				this.kind = FIELD;
+			} else if ("id".equals(property)) {
+				this.kind = ID;
+			} else if ("labels".equals(property)) {
+				this.kind = LABELS;
+			} else if ("type".equals(property)) {
+				this.kind = TYPE;
+			} else {
+				this.kind = PROPERTY;
+			}
+		}
+
+		boolean isId() {
+			return this.kind == ID;
+		}
+
+		/**
+		 * The field of the record this column is read from : the node or relationship of a virtual column.
+		 */
+		Value field(Record record) throws SQLException {
+			if (this.field == -1) {
+				try {
+					this.field = record.index(this.key);
+				} catch (NoSuchElementException e) {
+					throw new SQLException("Column not present in ResultSet", e);
+				}
+			}
+			return record.get(this.field);
+		}
+
+		/**
+		 * The type of the relationship of a virtual type column, <code>null</code> for any other column.
+		 */
+		String relationshipType(Record record) throws SQLException {
+			if (this.kind != TYPE) {
+				return null;
+			}
+			Value value = this.field(record);
+			return value instanceof RelationshipValue ? value.asRelationship().type() : null;
+		}
+
+		/**
+		 * The labels of the node of a virtual labels column, <code>null</code> for any other column.
+		 */
+		List<Object> nodeLabels(Record record) throws SQLException {
+			if (this.kind != LABELS) {
+				return null;
+			}
+			Value value = this.field(record);
+			if (!(value instanceof NodeValue)) {
+				return null;
+			}
+			List<Object> labels = new ArrayList<>();
+			for (String label : value.asNode().labels()) {
+				labels.add(label);
+			}
+			return labels;
+		}
+
+		Value fetch(Record record) throws SQLException {
+			Value value = this.field(record);
+			if (this.kind == FIELD || value.isNull()) {
+				//Field requested, or the missing node or relationship of a virtual column
+				return value;
+			} else if (this.kind == ID) {
+				//id requested
+				return new IntegerValue(value.asEntity().id());
+			} else if (this.kind == LABELS && value instanceof NodeValue) {
+				//node's labels requested
+				List<Value> values = new ArrayList<>();
+				for (String label : value.asNode().labels()) {
+					values.add(new StringValue(label));
+				}
+				return new ListValue(values.toArray(new Value[values.size()]));
+			} else if (this.kind == TYPE && value instanceof RelationshipValue) {
+				//Relationship's type requested
+				return new StringValue(value.asRelationship().type());
+			} else {
+				//Property requested
+				return value.get(this.property);
+			}
+		}
+	}
+
+	/**
+	 * The flattened columns of a query, discovered from the first records of its result.
+	 */
+	static final class FlattenedSchema {
+
+		/**
+		 * The keys of the records the columns were discovered from.
+		 */
+		final List<String> recordKeys;
+		final List<String> keys;
+		final List<Type>   classes;
+
+		/**
+		 * Columns of the properties of each node or relationship of the records, by index of the record key.
+		 */
+		private final List<Set<String>> properties;
+
+		FlattenedSchema(List<String> recordKeys, List<String> keys, List<Type> classes) {
+			this.recordKeys = Collections.unmodifiableList(new ArrayList<>(recordKeys));
+			this.keys = Collections.unmodifiableList(new ArrayList<>(keys));
+			this.classes = Collections.unmodifiableList(new ArrayList<>(classes));
+			this.properties = new ArrayList<>(recordKeys.size());
+			for (String recordKey : recordKeys) {
+				Set<String> properties = new HashSet<>();
+				String prefix = recordKey + ".";
+				for (String key : keys) {
+					if (key.startsWith(prefix)) {
+						properties.add(key.substring(prefix.length()));
+					}
+				}
+				this.properties.add(properties);
+			}
+		}
+
+		/**
+		 * Are all the properties of the nodes and relationships of this record columns of this schema ?
+		 */
+		boolean covers(Record record) {
+			for (int i = 0; i < this.recordKeys.size(); i++) {
+				Value value = record.get(i);
+				Entity entity;
+				if (ACCEPTED_TYPES_FOR_FLATTENING.get(0).equals(value.type().name())) {
+					entity = value.asNode();
+				} else if (ACCEPTED_TYPES_FOR_FLATTENING.get(1).equals(value.type().name())) {
+					entity = value.asRelationship();
+				} else {
+					continue;
+				}
+				Set<String> properties = this.properties.get(i);
+				for (String key : entity.keys()) {
+					if (!properties.contains(key)) {
+						return false;
+					}
+				}
+			}
+			return true;
+		}
+	}
 }
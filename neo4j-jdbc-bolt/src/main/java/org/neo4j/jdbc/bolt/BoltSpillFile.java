@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 17/10/2026
+ */
+package org.neo4j.jdbc.bolt;
+
+import org.neo4j.driver.internal.InternalNode;
+import org.neo4j.driver.internal.InternalPath;
+import org.neo4j.driver.internal.InternalRecord;
+import org.neo4j.driver.internal.InternalRelationship;
+import org.neo4j.driver.v1.Record;
+import org.neo4j.driver.v1.Value;
+import org.neo4j.driver.v1.Values;
+import org.neo4j.driver.v1.types.Entity;
+import org.neo4j.driver.v1.types.Node;
+import org.neo4j.driver.v1.types.Path;
+import org.neo4j.driver.v1.types.Relationship;
+import org.neo4j.jdbc.utils.SpillFile;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+/**
+ * A spill file for the records of a Bolt result, that also knows nodes, relationships and paths.
+ *
+ * @author AgileLARUS
+ * @since 3.0.0
+ */
+class BoltSpillFile extends SpillFile {
+
+	private static final byte NODE         = 16;
+	private static final byte RELATIONSHIP = 17;
+	private static final byte PATH         = 18;
+
+	BoltSpillFile() throws IOException {
+		super();
+	}
+
+	/**
+	 * Append a record.
+	 */
+	void write(Record record) throws IOException {
+		Object[] values = new Object[record.size()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = record.get(i);
+		}
+		this.write(values);
+	}
+
+	/**
+	 * Read the next record.
+	 *
+	 * @param keys The keys of the records
+	 * @return The record, or <code>null</code> if all the records have been read
+	 */
+	Record readRecord(List<String> keys) throws IOException {
+		Object[] values = this.read();
+		if (values == null) {
+			return null;
+		}
+		Value[] fields = new Value[values.length];
+		for (int i = 0; i < values.length; i++) {
+			fields[i] = Values.value(values[i]);
+		}
+		return new InternalRecord(keys, fields);
+	}
+
+	@Override protected void writeValue(DataOutput out, Object value) throws IOException {
+		if (value instanceof Value) {
+			value = ((Value) value).asObject();
+		}
+		if (value instanceof Node) {
+			out.writeByte(NODE);
+			this.writeNode(out, (Node) value);
+		} else if (value instanceof Relationship) {
+			out.writeByte(RELATIONSHIP);
+			this.writeRelationship(out, (Relationship) value);
+		} else if (value instanceof Path) {
+			Path path = (Path) value;
+			out.writeByte(PATH);
+			out.writeInt(path.length());
+			this.writeNode(out, path.start());
+			for (Path.Segment segment : path) {
+				this.writeRelationship(out, segment.relationship());
+				this.writeNode(out, segment.end());
+			}
+		} else {
+			super.writeValue(out, value);
+		}
+	}
+
+	@Override protected Object readValue(ByteBuffer in) throws IOException {
+		switch (in.get(in.position())) {
+			case NODE:
+				in.get();
+				return this.readNode(in);
+			case RELATIONSHIP:
+				in.get();
+				return this.readRelationship(in);
+			case PATH:
+				in.get();
+				int length = in.getInt();
+				List<Entity> entities = new ArrayList<>(2 * length + 1);
+				entities.add(this.readNode(in));
+				for (int i = 0; i < length; i++) {
+					entities.add(this.readRelationship(in));
+					entities.add(this.readNode(in));
+				}
+				return new InternalPath(entities);
+			default:
+				return super.readValue(in);
+		}
+	}
+
+	private void writeNode(DataOutput out, Node node) throws IOException {
+		out.writeLong(node.id());
+		List<String> labels = new ArrayList<>();
+		for (String label : node.labels()) {
+			labels.add(label);
+		}
+		super.writeValue(out, labels);
+		this.writeValue(out, node.asMap());
+	}
+
+	private Node readNode(ByteBuffer in) throws IOException {
+		long id = in.getLong();
+		List<String> labels = (List<String>) super.readValue(in);
+		return new InternalNode(id, labels, this.readProperties(in));
+	}
+
+	private void writeRelationship(DataOutput out, Relationship relationship) throws IOException {
+		out.writeLong(relationship.id());
+		out.writeLong(relationship.startNodeId());
+		out.writeLong(relationship.endNodeId());
+		this.writeString(out, relationship.type());
+		this.writeValue(out, relationship.asMap());
+	}
+
+	private Relationship readRelationship(ByteBuffer in) throws IOException {
+		long id = in.getLong();
+		long start = in.getLong();
+		long end = in.getLong();
+		String type = this.readString(in);
+		return new InternalRelationship(id, start, end, type, this.readProperties(in));
+	}
+
+	private Map<String, Value> readProperties(ByteBuffer in) throws IOException {
+		Map<String, Object> properties = (Map<String, Object>) this.readValue(in);
+		Map<String, Value> values = new LinkedHashMap<>(properties.size() * 2);
+		for (Map.Entry<String, Object> property : properties.entrySet()) {
+			values.put(property.getKey(), Values.value(property.getValue()));
+		}
+		return values;
+	}
+
+	/**
+	 * Estimate the memory used by a record.
+	 */
+	static long estimateSize(Record record) {
+		long size = 48;
+		for (Value value : record.values()) {
+			size += 8 + estimateValueSize(value.asObject());
+		}
+		return size;
+	}
+
+	private static long estimateValueSize(Object value) {
+		if (value instanceof Node) {
+			Node node = (Node) value;
+			return 64 + estimateSize(node.labels()) + estimateSize(node.asMap());
+		} else if (value instanceof Relationship) {
+			Relationship relationship = (Relationship) value;
+			return 80 + estimateSize(relationship.type()) + estimateSize(relationship.asMap());
+		} else if (value instanceof Path) {
+			long size = 64 + estimateValueSize(((Path) value).start());
+			for (Path.Segment segment : (Path) value) {
+				size += 32 + estimateValueSize(segment.relationship()) + estimateValueSize(segment.end());
+			}
+			return size;
+		} else if (value instanceof List) {
+			long size = 40;
+			for (Object element : (List) value) {
+				size += 8 + estimateValueSize(element);
+			}
+			return size;
+		}
+		return estimateSize(value);
+	}
+}
@@ -59,9 +59,13 @@ public class BoltStatement extends Statement implements Loggable {
 
 	private StatementResult executeInternal(String sql) throws SQLException {
 		this.checkClosed();
+		this.closeCurrentResultSet();
 
 		StatementResult result;
-		if (this.getConnection().getAutoCommit()) {
+		if (this.getConnection().getAutoCommit() && ((BoltConnection) this.getConnection()).isStreaming()) {
+			// The records are pulled while the ResultSet is iterated, and the server commits after the last one
+			result = ((BoltConnection) this.getConnection()).getSession().run(sql);
+		} else if (this.getConnection().getAutoCommit()) {
 			try (Transaction t = ((BoltConnection) this.getConnection()).getSession().beginTransaction()) {
 				result = t.run(sql);
 				t.success();
@@ -78,7 +82,7 @@ public class BoltStatement extends Statement implements Loggable {
 	@Override public ResultSet executeQuery(String sql) throws SQLException {
 		try {
 			StatementResult result = executeInternal(sql);
-			BoltResultSet resultSet = new BoltResultSet(this, result, this.rsParams);
+			BoltResultSet resultSet = new BoltResultSet(this, result, sql, this.rsParams);
 			this.currentResultSet = InstanceFactory.debug(BoltResultSet.class, resultSet, this.isLoggable());
 			this.currentUpdateCount = -1;
 			return this.currentResultSet;
@@ -171,22 +175,35 @@ public class BoltStatement extends Statement implements Loggable {
 	@Override public int[] executeBatch() throws SQLException {
 		this.checkClosed();
 
-		int[] result = new int[0];
+		int[] result = new int[this.batchStatements.size()];
+		int done = 0;
+		int pipelineDepth = ((BoltConnection) this.connection).getPipelineDepth();
+		if (pipelineDepth <= 0) {
+			pipelineDepth = Integer.MAX_VALUE;
+		}
 
 		try {
+			// Send the statements back to back, reading the oldest summary when pipelineDepth of them are waiting for theirs
+			StatementResult[] results = new StatementResult[result.length];
+			int i = 0;
 			for (String query : this.batchStatements) {
-				StatementResult res;
+				if (i - done >= pipelineDepth) {
+					SummaryCounters count = results[done].consume().counters();
+					results[done] = null;
+					result[done++] = count.nodesCreated() + count.nodesDeleted();
+				}
 				if (this.connection.getAutoCommit()) {
-					res = ((BoltConnection) connection).getSession().run(query);
+					results[i++] = ((BoltConnection) this.connection).getSession().run(query);
 				} else {
-					res = ((BoltConnection) connection).getTransaction().run(query);
+					results[i++] = ((BoltConnection) this.connection).getTransaction().run(query);
 				}
-				SummaryCounters count = res.consume().counters();
-				result = Arrays.copyOf(result, result.length + 1);
-				result[result.length - 1] = count.nodesCreated() + count.nodesDeleted();
+			}
+			for (; done < results.length; done++) {
+				SummaryCounters count = results[done].consume().counters();
+				result[done] = count.nodesCreated() + count.nodesDeleted();
 			}
 		} catch (Exception e) {
-			throw new BatchUpdateException(result, e);
+			throw new BatchUpdateException(Arrays.copyOf(result, done), e);
 		}
 
 		return result;
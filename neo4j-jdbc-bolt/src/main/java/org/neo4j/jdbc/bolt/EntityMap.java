@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 17/10/2026
+ */
+package org.neo4j.jdbc.bolt;
+
+import org.neo4j.driver.v1.types.Entity;
+import org.neo4j.driver.v1.types.Node;
+import org.neo4j.driver.v1.types.Relationship;
+
+import java.util.*;
+
+/**
+ * A read-only map view of a node or a relationship, as returned by <code>getObject</code> : its id (<code>_id</code>),
+ * labels (<code>_labels</code>) or type, start and end (<code>_type</code>, <code>_startId</code>, <code>_endId</code>),
+ * and its properties.
+ * The properties are only converted when they are read.
+ *
+ * @author AgileLARUS
+ * @since 3.0.0
+ */
+class EntityMap extends AbstractMap<String, Object> {
+
+	private static final List<String> NODE_KEYS         = Arrays.asList("_id", "_labels");
+	private static final List<String> RELATIONSHIP_KEYS = Arrays.asList("_id", "_type", "_startId", "_endId");
+
+	private final Entity entity;
+
+	/**
+	 * Keys of the id, labels, type... that are not hidden by a property of the same name.
+	 */
+	private List<String> metaKeys;
+
+	private Set<Entry<String, Object>> entrySet;
+
+	EntityMap(Node node) {
+		this.entity = node;
+	}
+
+	EntityMap(Relationship relationship) {
+		this.entity = relationship;
+	}
+
+	private List<String> metaKeys() {
+		if (this.metaKeys == null) {
+			List<String> keys = new ArrayList<>(this.entity instanceof Node ? NODE_KEYS : RELATIONSHIP_KEYS);
+			for (Iterator<String> iterator = keys.iterator(); iterator.hasNext(); ) {
+				if (this.entity.containsKey(iterator.next())) {
+					iterator.remove();
+				}
+			}
+			this.metaKeys = keys;
+		}
+		return this.metaKeys;
+	}
+
+	private Object metaValue(String key) {
+		switch (key) {
+			case "_id":
+				return this.entity.id();
+			case "_labels":
+				return ((Node) this.entity).labels();
+			case "_type":
+				return ((Relationship) this.entity).type();
+			case "_startId":
+				return ((Relationship) this.entity).startNodeId();
+			default:
+				return ((Relationship) this.entity).endNodeId();
+		}
+	}
+
+	/**
+	 * Is this map a view of the given entity, or of the same entity with the same labels and property values ?
+	 * The same node or relationship can be returned in several records with other values.
+	 */
+	boolean isViewOf(Entity entity) {
+		if (this.entity == entity) {
+			return true;
+		}
+		if (this.entity.id() != entity.id() || this.entity.size() != entity.size()) {
+			return false;
+		}
+		if (this.entity instanceof Node && !((Node) this.entity).labels().equals(((Node) entity).labels())) {
+			return false;
+		}
+		for (String key : this.entity.keys()) {
+			if (!entity.containsKey(key) || !this.entity.get(key).equals(entity.get(key))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override public Object get(Object key) {
+		if (!(key instanceof String)) {
+			return null;
+		}
+		if (this.entity.containsKey((String) key)) {
+			return this.entity.get((String) key).asObject();
+		}
+		return this.metaKeys().contains(key) ? this.metaValue((String) key) : null;
+	}
+
+	@Override public boolean containsKey(Object key) {
+		return key instanceof String && (this.entity.containsKey((String) key) || this.metaKeys().contains(key));
+	}
+
+	@Override public int size() {
+		return this.metaKeys().size() + this.entity.size();
+	}
+
+	@Override public Set<Entry<String, Object>> entrySet() {
+		if (this.entrySet == null) {
+			this.entrySet = new AbstractSet<Entry<String, Object>>() {
+				@Override public Iterator<Entry<String, Object>> iterator() {
+					final Iterator<String> metaKeys = EntityMap.this.metaKeys().iterator();
+					final Iterator<String> keys = EntityMap.this.entity.keys().iterator();
+					return new Iterator<Entry<String, Object>>() {
+						@Override public boolean hasNext() {
+							return metaKeys.hasNext() || keys.hasNext();
+						}
+
+						@Override public Entry<String, Object> next() {
+							String key = metaKeys.hasNext() ? metaKeys.next() : keys.next();
+							return new SimpleImmutableEntry<>(key, EntityMap.this.get(key));
+						}
+
+						@Override public void remove() {
+							throw new UnsupportedOperationException();
+						}
+					};
+				}
+
+				@Override public int size() {
+					return EntityMap.this.size();
+				}
+			};
+		}
+		return this.entrySet;
+	}
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 17/10/2026
+ */
+package org.neo4j.jdbc.bolt;
+
+import org.neo4j.driver.v1.*;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.*;
+
+/**
+ * A Neo4j java driver, with its pool of sessions, shared by all the connections with the same url, credentials and settings.
+ * The driver is reference counted : it is closed when the last connection that uses it is closed.
+ * <br>
+ * The pool settings are read from the properties of the connection :
+ * <ul>
+ * <li><code>maxSessions</code> : max number of idle sessions kept in the pool (java driver default)</li>
+ * <li><code>sessionLivenessCheckTimeout</code> : milliseconds after which an idle session is checked before being reused
+ * (java driver default)</li>
+ * </ul>
+ */
+class SharedDriver {
+
+	/**
+	 * Shared drivers, by url, credentials and settings.
+	 */
+	private static final Map<List<String>, SharedDriver> DRIVERS = new HashMap<>();
+
+	/**
+	 * Random salt of the digests of the passwords in the keys, so that they can't be looked up.
+	 */
+	private static final byte[] SALT = new byte[16];
+
+	static {
+		new SecureRandom().nextBytes(SALT);
+	}
+
+	/**
+	 * The java driver.
+	 */
+	final Driver driver;
+
+	/**
+	 * Key of this driver into the shared drivers.
+	 */
+	private final List<String> key;
+
+	/**
+	 * Number of connections that use this driver.
+	 */
+	private int references = 0;
+
+	/**
+	 * Version of the server, fetched by the first connection that needs it.
+	 */
+	private volatile String serverVersion;
+
+	private SharedDriver(List<String> key, Driver driver) {
+		this.key = key;
+		this.driver = driver;
+	}
+
+	/**
+	 * Retrieve the driver for an url, and create it if needed.
+	 *
+	 * @param boltUrl    The bolt url
+	 * @param authToken  The credentials
+	 * @param properties Properties of the url connection
+	 * @return The shared driver, that must be released once not used anymore
+	 */
+	static synchronized SharedDriver acquire(String boltUrl, AuthToken authToken, Properties properties) {
+		String nossl = properties.getProperty("nossl");
+		String maxSessions = properties.getProperty("maxsessions");
+		String livenessCheckTimeout = properties.getProperty("sessionlivenesschecktimeout");
+
+		List<String> key = key(boltUrl, properties);
+		SharedDriver shared = DRIVERS.get(key);
+		if (shared == null) {
+			Config.ConfigBuilder builder = Config.build();
+			if (nossl != null) {
+				builder = builder.withEncryptionLevel(Config.EncryptionLevel.NONE);
+			}
+			if (maxSessions != null) {
+				builder = builder.withMaxSessions(Integer.parseInt(maxSessions));
+			}
+			if (livenessCheckTimeout != null) {
+				builder = builder.withSessionLivenessCheckTimeout(Long.parseLong(livenessCheckTimeout));
+			}
+			shared = new SharedDriver(key, GraphDatabase.driver(boltUrl, authToken, builder.toConfig()));
+			DRIVERS.put(key, shared);
+		}
+		shared.references++;
+		return shared;
+	}
+
+	/**
+	 * Key of the driver of an url : its address, credentials and settings.
+	 * The password is only kept as a salted digest, and each component is compared on its own.
+	 *
+	 * @param boltUrl    The bolt url
+	 * @param properties Properties of the url connection
+	 * @return The key of the shared driver
+	 */
+	static List<String> key(String boltUrl, Properties properties) {
+		return Arrays.asList(boltUrl.contains("?") ? boltUrl.substring(0, boltUrl.indexOf('?')) : boltUrl, properties.getProperty("user"),
+				digest(properties.getProperty("password")), properties.getProperty("nossl"), properties.getProperty("maxsessions"),
+				properties.getProperty("sessionlivenesschecktimeout"));
+	}
+
+	private static String digest(String password) {
+		if (password == null) {
+			return null;
+		}
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update(SALT);
+			return new BigInteger(1, digest.digest(password.getBytes(StandardCharsets.UTF_8))).toString(16);
+		} catch (NoSuchAlgorithmException e) {
+			// Every java platform has SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Borrow a session from the pool of the driver, it goes back to the pool when closed.
+	 */
+	Session session() {
+		return driver.session();
+	}
+
+	/**
+	 * Release this driver, and close it if no connection uses it anymore.
+	 */
+	void release() {
+		synchronized (SharedDriver.class) {
+			if (references > 0 && --references == 0) {
+				DRIVERS.remove(key);
+				driver.close();
+			}
+		}
+	}
+
+	String getServerVersion() {
+		return serverVersion;
+	}
+
+	void setServerVersion(String serverVersion) {
+		this.serverVersion = serverVersion;
+	}
+
+	/**
+	 * Number of connections that use this driver.
+	 */
+	int getReferences() {
+		synchronized (SharedDriver.class) {
+			return references;
+		}
+	}
+}
@@ -204,6 +204,24 @@ public class BoltConnectionIT {
 		reader.close();
 	}
 
+	@Test public void rollbackShouldDiscardTheTransactionAndTheNextStatementShouldBeginAnother() throws SQLException {
+		try (Connection connection = DriverManager.getConnection(NEO4J_JDBC_BOLT_URL)) {
+			connection.setAutoCommit(false);
+			Statement stmt = connection.createStatement();
+
+			stmt.executeQuery("CREATE (:RollbackShouldDiscard{result:\"ko\"})");
+			connection.rollback();
+
+			stmt.executeQuery("CREATE (:RollbackShouldDiscard{result:\"ok\"})");
+			connection.commit();
+
+			ResultSet rs = stmt.executeQuery("MATCH (n:RollbackShouldDiscard) RETURN n.result");
+			assertTrue(rs.next());
+			assertEquals("ok", rs.getString("n.result"));
+			assertFalse(rs.next());
+		}
+	}
+
 	@Test public void shouldRollbackAnEmptyTransaction() throws SQLException {
 		// Connect (autoCommit = false)
 		try (Connection connection = DriverManager.getConnection(NEO4J_JDBC_BOLT_URL)) {
@@ -27,9 +27,11 @@ import org.junit.rules.ExpectedException;
 import org.neo4j.driver.internal.InternalSession;
 import org.neo4j.driver.internal.logging.DevNullLogger;
 import org.neo4j.driver.v1.Session;
+import org.neo4j.driver.v1.Transaction;
 import org.neo4j.jdbc.bolt.data.StatementData;
 
 import java.sql.*;
+import java.util.Properties;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -466,24 +468,22 @@ public class BoltConnectionTest {
 		assertTrue(openConnection.getAutoCommit());
 	}
 
-	@Test public void setAutoCommitShouldCommit() throws SQLException {
+	@Test public void setAutoCommitShouldNotBeginTransaction() throws SQLException {
 		openConnection.setAutoCommit(true);
-		verify(openConnection.getSession(), times(0)).beginTransaction();
-
 		openConnection.setAutoCommit(false);
-		verify(openConnection.getSession(), times(1)).beginTransaction();
+		openConnection.createStatement();
+		openConnection.prepareStatement(StatementData.STATEMENT_MATCH_ALL_STRING_PARAMETRIC);
+		verify(openConnection.getSession(), times(0)).beginTransaction();
 
-		openConnection.setAutoCommit(false);
+		Transaction transaction = openConnection.getTransaction();
+		assertSame(transaction, openConnection.getTransaction());
 		verify(openConnection.getSession(), times(1)).beginTransaction();
 
 		openConnection.setAutoCommit(true);
-		verify(openConnection.getSession(), times(2)).beginTransaction();
-
-		openConnection.setAutoCommit(true);
-		verify(openConnection.getSession(), times(2)).beginTransaction();
-
-		openConnection.setAutoCommit(false);
-		verify(openConnection.getSession(), times(3)).beginTransaction();
+		verify(transaction, times(1)).success();
+		verify(transaction, times(1)).close();
+		assertNull(openConnection.getTransaction());
+		verify(openConnection.getSession(), times(1)).beginTransaction();
 	}
 
 	/*------------------------------*/
@@ -526,6 +526,21 @@ public class BoltConnectionTest {
 		openConnection.commit();
 	}
 
+	@Test public void commitShouldBeginNextTransactionOnNextStatement() throws SQLException {
+		openConnection.setAutoCommit(false);
+		openConnection.commit();
+		verify(openConnection.getSession(), times(0)).beginTransaction();
+
+		Transaction transaction = openConnection.getTransaction();
+		openConnection.commit();
+		verify(transaction, times(1)).success();
+		verify(transaction, times(1)).close();
+		verify(openConnection.getSession(), times(1)).beginTransaction();
+
+		openConnection.getTransaction();
+		verify(openConnection.getSession(), times(2)).beginTransaction();
+	}
+
 	/*------------------------------*/
 	/*           rollback           */
 	/*------------------------------*/
@@ -541,6 +556,18 @@ public class BoltConnectionTest {
 		openConnection.rollback();
 	}
 
+	@Test public void rollbackShouldCloseTheTransaction() throws SQLException {
+		openConnection.setAutoCommit(false);
+		Transaction transaction = openConnection.getTransaction();
+		openConnection.rollback();
+		verify(transaction, times(1)).failure();
+		verify(transaction, times(1)).close();
+		verify(transaction, times(0)).success();
+
+		openConnection.getTransaction();
+		verify(openConnection.getSession(), times(2)).beginTransaction();
+	}
+
 	/*------------------------------*/
 	/*   getTransactionIsolation    */
 	/*------------------------------*/
@@ -601,6 +628,21 @@ public class BoltConnectionTest {
 		assertTrue(openConnection.isValid(400));
 	}
 
+	@Test public void isValidShouldNotCheckAgainWithinValidationInterval() throws SQLException {
+		Properties properties = new Properties();
+		properties.setProperty("validationinterval", "60000");
+		Session session = mockSessionOpen();
+		Connection connection = new BoltConnection(session, properties, "");
+
+		assertTrue(connection.isValid(1));
+		assertTrue(connection.isValid(1));
+		verify(session, times(1)).run(anyString());
+
+		assertTrue(openConnection.isValid(1));
+		assertTrue(openConnection.isValid(1));
+		verify(openConnection.getSession(), times(2)).run(anyString());
+	}
+
 	@Test public void isValidShouldReturnFalseIfSessionException() throws SQLException {
 		assertFalse(exceptionOpenConnection.isValid(500));
 		assertFalse(exceptionOpenConnection.isValid(0));
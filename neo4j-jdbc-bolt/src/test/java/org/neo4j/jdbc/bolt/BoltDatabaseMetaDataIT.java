@@ -23,6 +23,7 @@ package org.neo4j.jdbc.bolt;
 
 import org.junit.Rule;
 import org.junit.Test;
+import org.mockito.internal.util.reflection.Whitebox;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
@@ -50,6 +51,19 @@ public class BoltDatabaseMetaDataIT {
 		connection.close();
 	}
 
+	@Test public void getDatabaseVersionShouldBeFetchedOnceByDriver() throws SQLException {
+		Connection connection = DriverManager.getConnection("jdbc:neo4j:" + neo4j.getBoltUrl(),"user","password");
+		Connection other = DriverManager.getConnection("jdbc:neo4j:" + neo4j.getBoltUrl(),"user","password");
+
+		String version = connection.getMetaData().getDatabaseProductVersion();
+		assertNotEquals("Unknown", version);
+		assertEquals(version, ((SharedDriver) Whitebox.getInternalState(other, "driver")).getServerVersion());
+		assertEquals(version, other.getMetaData().getDatabaseProductVersion());
+
+		other.close();
+		connection.close();
+	}
+
 	@Test public void classShouldWorkIfTransactionIsAlreadyOpened() throws SQLException {
 		Connection connection = DriverManager.getConnection("jdbc:neo4j:" + neo4j.getBoltUrl(),"user","password");
 		connection.setAutoCommit(false);
@@ -30,6 +30,7 @@ import org.neo4j.driver.internal.logging.DevNullLogger;
 import org.neo4j.driver.v1.AuthTokens;
 import org.neo4j.driver.v1.Config;
 import org.neo4j.driver.v1.GraphDatabase;
+import org.neo4j.driver.v1.Session;
 import org.neo4j.jdbc.BaseDriver;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
@@ -70,6 +71,29 @@ import static org.junit.Assert.*;
 		assertNotNull(connection);
 	}
 
+	@Test public void shouldConnectShareDriverBetweenConnections() throws SQLException {
+		org.neo4j.driver.v1.Driver sharedDriver = Mockito.mock(org.neo4j.driver.v1.Driver.class);
+		Session session = Mockito.mock(Session.class);
+		Mockito.when(session.isOpen()).thenReturn(true);
+		Mockito.when(sharedDriver.session()).thenReturn(session);
+		PowerMockito.mockStatic(GraphDatabase.class);
+		Mockito.when(GraphDatabase.driver(Mockito.eq("bolt://shared?nossl"), Mockito.eq(AuthTokens.none()), Mockito.any(Config.class)))
+				.thenReturn(sharedDriver);
+
+		BaseDriver driver = new BoltDriver();
+		Connection first = driver.connect("jdbc:neo4j:bolt://shared?nossl", null);
+		Connection second = driver.connect("jdbc:neo4j:bolt://shared?nossl", null);
+
+		PowerMockito.verifyStatic(Mockito.times(1));
+		GraphDatabase.driver(Mockito.eq("bolt://shared?nossl"), Mockito.eq(AuthTokens.none()), Mockito.any(Config.class));
+		Mockito.verify(sharedDriver, Mockito.times(2)).session();
+
+		first.close();
+		Mockito.verify(sharedDriver, Mockito.never()).close();
+		second.close();
+		Mockito.verify(sharedDriver).close();
+	}
+
 	@Test public void shouldConnectReturnNullIfUrlNotValid() throws SQLException {
 		BaseDriver driver = new BoltDriver();
 		assertNull(driver.connect("jdbc:neo4j:http://localhost:7474", null));
@@ -151,6 +151,28 @@ public class BoltPreparedStatementIT {
 		neo4j.getGraphDatabase().execute(StatementData.STATEMENT_CLEAR_DB);
 	}
 
+	@Test public void executeBatchShouldWorkWithMoreStatementsThanPipelineDepth() throws SQLException {
+		Connection connection = DriverManager.getConnection("jdbc:neo4j:" + neo4j.getBoltUrl() + ",pipelineDepth=3");
+		PreparedStatement statement = connection.prepareStatement(StatementData.STATEMENT_CREATE_TWO_PROPERTIES_PARAMETRIC);
+		int[] expected = new int[10];
+		for (int i = 0; i < expected.length; i++) {
+			statement.setString(1, "test" + i);
+			statement.setString(2, "pipelined");
+			statement.addBatch();
+			expected[i] = 1;
+		}
+
+		assertArrayEquals(expected, statement.executeBatch());
+		Result res = neo4j.getGraphDatabase().execute("MATCH (n:User {surname:'pipelined'}) RETURN count(DISTINCT n.name) AS total");
+		while (res.hasNext()) {
+			assertEquals(10L, res.next().get("total"));
+		}
+
+		connection.close();
+
+		neo4j.getGraphDatabase().execute(StatementData.STATEMENT_CLEAR_DB);
+	}
+
 	@Test public void executeBatchShouldWorkWhenError() throws SQLException {
 		Connection connection = DriverManager.getConnection("jdbc:neo4j:" + neo4j.getBoltUrl());
 		connection.setAutoCommit(true);
@@ -174,6 +196,29 @@ public class BoltPreparedStatementIT {
 		neo4j.getGraphDatabase().execute(StatementData.STATEMENT_CLEAR_DB);
 	}
 
+	@Test public void executeBatchWithUnwindShouldSendRowsTogether() throws SQLException {
+		Connection connection = DriverManager.getConnection("jdbc:neo4j:" + neo4j.getBoltUrl() + ",batchMode=unwind,unwindBatchSize=2");
+		PreparedStatement statement = connection.prepareStatement(StatementData.STATEMENT_CREATE_TWO_PROPERTIES_PARAMETRIC);
+		for (int i = 0; i < 5; i++) {
+			statement.setString(1, "test" + i);
+			statement.setString(2, "surname");
+			statement.addBatch();
+		}
+
+		int[] result = statement.executeBatch();
+
+		assertArrayEquals(new int[] { Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO,
+				Statement.SUCCESS_NO_INFO }, result);
+		Result res = neo4j.getGraphDatabase().execute("MATCH (n:User {surname:'surname'}) RETURN count(DISTINCT n.name) AS total");
+		while (res.hasNext()) {
+			assertEquals(5L, res.next().get("total"));
+		}
+
+		connection.close();
+
+		neo4j.getGraphDatabase().execute(StatementData.STATEMENT_CLEAR_DB);
+	}
+
 	@Test public void executeBatchShouldWorkWithTransaction() throws SQLException {
 		Connection connection = DriverManager.getConnection("jdbc:neo4j:" + neo4j.getBoltUrl());
 		PreparedStatement statement = connection.prepareStatement(StatementData.STATEMENT_CREATE_TWO_PROPERTIES_PARAMETRIC);
@@ -72,7 +72,7 @@ import static org.powermock.api.mockito.PowerMockito.whenNew;
 
 		this.mockedRS = mock(BoltResultSet.class);
 		doNothing().when(this.mockedRS).close();
-		whenNew(BoltResultSet.class).withArguments(anyObject(), anyObject()).thenReturn(this.mockedRS);
+		whenNew(BoltResultSet.class).withAnyArguments().thenReturn(this.mockedRS);
 	}
 
 	/*------------------------------*/
@@ -608,7 +608,7 @@ import static org.powermock.api.mockito.PowerMockito.whenNew;
 				ResultSet.HOLD_CURSORS_OVER_COMMIT);
 		statement.executeQuery();
 
-		verifyNew(BoltResultSet.class).withArguments(statement,null, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, ResultSet.HOLD_CURSORS_OVER_COMMIT);
+		verifyNew(BoltResultSet.class).withArguments(statement, null, "", ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, ResultSet.HOLD_CURSORS_OVER_COMMIT);
 	}
 
 	@Test public void executeQueryShouldThrowExceptionOnClosedStatement() throws SQLException {
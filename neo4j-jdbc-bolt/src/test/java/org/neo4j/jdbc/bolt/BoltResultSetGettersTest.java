@@ -29,13 +29,19 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.mockito.Mockito;
 import org.mockito.internal.util.reflection.Whitebox;
+import org.neo4j.driver.internal.InternalNode;
 import org.neo4j.driver.v1.StatementResult;
+import org.neo4j.driver.v1.Value;
+import org.neo4j.driver.v1.Values;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.spy;
@@ -219,6 +225,21 @@ public class BoltResultSetGettersTest {
 		assertEquals("{\"id\":2, \"labels\":[\"label\"], \"property\":1.6}", resultSet.getString(1));
 	}
 
+	@Test public void getStringShouldReturnEscapedJSONOnNode() throws SQLException {
+		Map<String, Value> properties = new LinkedHashMap<>();
+		properties.put("quote", Values.value("say \"hi\"\n\\"));
+		properties.put("list", Values.value(Arrays.asList(1L, 2L)));
+		properties.put("map", Values.value(Collections.singletonMap("key", "value")));
+		List<Object[]> records = new ArrayList<>();
+		records.add(new Object[] { new InternalNode(1, Collections.singletonList("label"), properties) });
+		StatementResult statementResult = ResultSetData.buildResultCursor(ResultSetData.KEYS_RECORD_LIST_MORE_ELEMENTS_NODES, records);
+		ResultSet resultSet = new BoltResultSet(null, statementResult);
+
+		resultSet.next();
+		assertEquals("{\"id\":1, \"labels\":[\"label\"], \"quote\":\"say \\\"hi\\\"\\n\\\\\", \"list\":[1, 2], \"map\":{\"key\":\"value\"}}",
+				resultSet.getString("node"));
+	}
+
 	@Test public void getStringShouldReturnStringOnRelationship() throws SQLException {
 		StatementResult statementResult = ResultSetData
 				.buildResultCursor(ResultSetData.KEYS_RECORD_LIST_MORE_ELEMENTS_RELATIONS, ResultSetData.RECORD_LIST_MORE_ELEMENTS_RELATIONS);
@@ -727,6 +748,49 @@ public class BoltResultSetGettersTest {
 		}, resultSet.getObject(1));
 	}
 
+	@Test public void getObjectShouldReturnSameMapForSameNode() throws SQLException {
+		Map<String, Value> properties = new LinkedHashMap<>();
+		properties.put("_id", Values.value("property"));
+		properties.put("name", Values.value("value"));
+		InternalNode node = new InternalNode(1, Collections.singletonList("label"), properties);
+		List<Object[]> records = new ArrayList<>();
+		records.add(new Object[] { node });
+		records.add(new Object[] { node });
+		StatementResult statementResult = ResultSetData.buildResultCursor(ResultSetData.KEYS_RECORD_LIST_MORE_ELEMENTS_NODES, records);
+		ResultSet resultSet = new BoltResultSet(null, statementResult);
+
+		resultSet.next();
+		Object first = resultSet.getObject("node");
+		assertEquals(new HashMap<String, Object>() {
+			{
+				this.put("_id", "property");
+				this.put("_labels", Collections.singletonList("label"));
+				this.put("name", "value");
+			}
+		}, first);
+
+		resultSet.next();
+		assertSame(first, resultSet.getObject(1));
+		assertNull(((Map) first).get(1L));
+	}
+
+	@Test public void getObjectShouldNotReuseMapForSameNodeWithOtherValues() throws SQLException {
+		List<Object[]> records = new ArrayList<>();
+		records.add(new Object[] { new InternalNode(1, Collections.singletonList("label"), Collections.singletonMap("name", Values.value("value"))) });
+		records.add(new Object[] { new InternalNode(1, Collections.singletonList("label"), Collections.singletonMap("name", Values.value("value"))) });
+		records.add(new Object[] { new InternalNode(1, Collections.singletonList("label"), Collections.singletonMap("name", Values.value("other"))) });
+		StatementResult statementResult = ResultSetData.buildResultCursor(ResultSetData.KEYS_RECORD_LIST_MORE_ELEMENTS_NODES, records);
+		ResultSet resultSet = new BoltResultSet(null, statementResult);
+
+		resultSet.next();
+		Object first = resultSet.getObject(1);
+		resultSet.next();
+		assertSame(first, resultSet.getObject(1));
+		resultSet.next();
+		assertEquals("other", ((Map) resultSet.getObject(1)).get("name"));
+		assertEquals("value", ((Map) first).get("name"));
+	}
+
 	@Test public void getObjectShouldReturnCorrectRelationsAsMap() throws SQLException {
 		StatementResult statementResult = ResultSetData
 				.buildResultCursor(ResultSetData.KEYS_RECORD_LIST_MORE_ELEMENTS_RELATIONS, ResultSetData.RECORD_LIST_MORE_ELEMENTS_RELATIONS);
@@ -1178,6 +1242,40 @@ public class BoltResultSetGettersTest {
 		assertArrayEquals(new String[] { "label1", "label2" }, (String[]) resultSet.getArray("node.labels").getArray());
 	}
 
+	@Test public void getObjectByLabelShouldReturnVirtualColumnsWithoutValues() throws SQLException {
+		StatementResult statementResult = ResultSetData
+				.buildResultCursor(ResultSetData.KEYS_RECORD_LIST_MORE_ELEMENTS_RELATIONS, ResultSetData.RECORD_LIST_MORE_ELEMENTS_RELATIONS);
+		Connection c = Mockito.mock(Connection.class);
+		Mockito.when(c.getFlattening()).thenReturn(1);
+		Statement stmt = Mockito.mock(Statement.class);
+		Mockito.when(stmt.getConnection()).thenReturn(c);
+		ResultSet resultSet = new BoltResultSet(stmt, statementResult);
+
+		resultSet.next();
+		assertEquals(1L, resultSet.getObject("relation.id"));
+		assertEquals(1L, resultSet.getLong("relation.id"));
+		assertEquals("type1", resultSet.getObject("relation.type"));
+		assertEquals("type1", resultSet.getString("relation.type"));
+		assertFalse(resultSet.wasNull());
+	}
+
+	@Test public void getStringByLabelShouldReturnPropertiesNamedLikeVirtualColumns() throws SQLException {
+		List<Object[]> records = new ArrayList<>();
+		Map<String, Value> properties = new HashMap<>();
+		properties.put("type", Values.value("user"));
+		records.add(new Object[] { new InternalNode(1, Collections.singletonList("label"), properties) });
+		StatementResult statementResult = ResultSetData.buildResultCursor(ResultSetData.KEYS_RECORD_LIST_MORE_ELEMENTS_NODES, records);
+		Connection c = Mockito.mock(Connection.class);
+		Mockito.when(c.getFlattening()).thenReturn(1);
+		Statement stmt = Mockito.mock(Statement.class);
+		Mockito.when(stmt.getConnection()).thenReturn(c);
+		ResultSet resultSet = new BoltResultSet(stmt, statementResult);
+
+		resultSet.next();
+		assertEquals("user", resultSet.getString("node.type"));
+		assertEquals(Collections.singletonList("label"), resultSet.getObject("node.labels"));
+	}
+
 	@Test public void getArrayByIndexShouldReturnCorrectVirtualColumn() throws SQLException {
 		StatementResult statementResult = ResultSetData
 				.buildResultCursor(ResultSetData.KEYS_RECORD_LIST_MORE_ELEMENTS_NODES, ResultSetData.RECORD_LIST_MORE_ELEMENTS_NODES);
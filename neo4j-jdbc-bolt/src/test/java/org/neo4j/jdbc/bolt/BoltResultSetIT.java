@@ -22,12 +22,15 @@ package org.neo4j.jdbc.bolt;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.mockito.internal.util.reflection.Whitebox;
 import org.neo4j.jdbc.bolt.data.StatementData;
 
 import java.sql.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 
-import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.*;
 
 /**
  * @author AgileLARUS
@@ -102,6 +105,59 @@ public class BoltResultSetIT {
 		conn.close();
 	}
 
+	@Test public void flatteningShouldReuseColumnsOfPreviousExecution() throws SQLException {
+		neo4j.getGraphDatabase().execute("CREATE (:User {name:\"name\"})");
+		neo4j.getGraphDatabase().execute("CREATE (:User {surname:\"surname\"})");
+
+		Connection conn = DriverManager.getConnection("jdbc:neo4j:" + neo4j.getBoltUrl() + ",flatten=-1");
+		ResultSet rs = conn.createStatement().executeQuery("MATCH (u:User) RETURN u;");
+		assertEquals(5, rs.getMetaData().getColumnCount());
+		rs.close();
+
+		rs = conn.createStatement().executeQuery("MATCH (u:User) RETURN u;");
+		assertEquals(5, rs.getMetaData().getColumnCount());
+		assertEquals(5, rs.findColumn("u.surname"));
+		rs.close();
+
+		neo4j.getGraphDatabase().execute("CREATE (:User {age:42})");
+		rs = conn.createStatement().executeQuery("MATCH (u:User) RETURN u;");
+		assertEquals(6, rs.getMetaData().getColumnCount());
+		int rows = 0;
+		boolean age = false;
+		while (rs.next()) {
+			rows++;
+			age |= Long.valueOf(42).equals(rs.getObject("u.age"));
+		}
+		assertEquals(3, rows);
+		assertTrue(age);
+		conn.close();
+	}
+
+	@Test public void flattenCacheShouldReuseColumnsUntilARowDoesNotFit() throws SQLException {
+		neo4j.getGraphDatabase().execute("CREATE (:User {name:\"name\"})");
+		neo4j.getGraphDatabase().execute("CREATE (:User {surname:\"surname\"})");
+
+		Connection conn = DriverManager.getConnection("jdbc:neo4j:" + neo4j.getBoltUrl() + ",flatten=-1,flattenCache=true");
+		ResultSet rs = conn.createStatement().executeQuery("MATCH (u:User) RETURN u;");
+		assertEquals(5, rs.getMetaData().getColumnCount());
+		rs.close();
+
+		neo4j.getGraphDatabase().execute("CREATE (:User {age:42})");
+		rs = conn.createStatement().executeQuery("MATCH (u:User) RETURN u;");
+		assertEquals(5, rs.getMetaData().getColumnCount());
+		int rows = 0;
+		while (rs.next()) {
+			rows++;
+		}
+		assertEquals(3, rows);
+		rs.close();
+
+		rs = conn.createStatement().executeQuery("MATCH (u:User) RETURN u;");
+		assertEquals(6, rs.getMetaData().getColumnCount());
+		rs.close();
+		conn.close();
+	}
+
 	@Test public void findColumnShouldWorkWithFlattening() throws SQLException {
 		neo4j.getGraphDatabase().execute(StatementData.STATEMENT_CREATE);
 
@@ -130,4 +186,99 @@ public class BoltResultSetIT {
 		con.close();
 	}
 
+	@Test public void executeQueryWithMaxResultMemoryShouldSpillRecordsToDisk() throws SQLException {
+		neo4j.getGraphDatabase().execute("unwind range(1,500) as x create (:User{number:x, name:'user' + x})-[:KNOWS{since:x}]->(:User{number:-x})");
+
+		Connection con = DriverManager.getConnection("jdbc:neo4j:" + neo4j.getBoltUrl() + ",maxResultMemory=4096");
+		Statement stmt = con.createStatement();
+		ResultSet rs = stmt.executeQuery(
+				"match p = (u:User)-[k:KNOWS]->() return u.number as number, u, k, p, [u.name, null] as list order by number asc");
+
+		int row = 0;
+		while (rs.next()) {
+			row++;
+			assertEquals(row, rs.getInt("number"));
+			assertEquals("user" + row, ((Map) rs.getObject("u")).get("name"));
+			assertEquals((long) row, ((Map) rs.getObject("k")).get("since"));
+			assertEquals(3, ((List) rs.getObject("p")).size());
+			assertEquals(Arrays.asList("user" + row, null), rs.getObject("list"));
+		}
+		assertEquals(500, row);
+		rs.close();
+		con.close();
+	}
+
+	@Test public void executeQueryWithReadAheadShouldReturnAllRecords() throws SQLException {
+		Connection con = DriverManager.getConnection("jdbc:neo4j:" + neo4j.getBoltUrl() + ",readAhead=true,streaming=true");
+		Statement stmt = con.createStatement();
+		stmt.setFetchSize(10);
+		ResultSet rs = stmt.executeQuery("unwind range(1,1000) as x return x");
+
+		int row = 0;
+		while (rs.next()) {
+			row++;
+			assertEquals(row, rs.getInt("x"));
+		}
+		assertEquals(1000, row);
+		rs.close();
+
+		rs = stmt.executeQuery("unwind range(1,1000) as x return x");
+		assertTrue(rs.next());
+		rs.close();
+
+		rs = stmt.executeQuery("return 1 as x");
+		assertTrue(rs.next());
+		assertEquals(1, rs.getInt("x"));
+		rs.close();
+		con.close();
+	}
+
+	@Test public void executeQueryWithReadAheadShouldLetOtherStatementsRunWhileIterating() throws SQLException {
+		Connection con = DriverManager.getConnection("jdbc:neo4j:" + neo4j.getBoltUrl() + ",readAhead=true");
+		con.setAutoCommit(false);
+		Statement stmt = con.createStatement();
+		stmt.setFetchSize(10);
+		ResultSet rs = stmt.executeQuery("unwind range(1,1000) as x return x");
+		assertNotNull(Whitebox.getInternalState(rs, "readAhead"));
+
+		Statement other = con.createStatement();
+		int row = 0;
+		while (rs.next()) {
+			row++;
+			assertEquals(row, rs.getInt("x"));
+			if (row % 100 == 0) {
+				ResultSet inner = other.executeQuery("return " + row + " as y");
+				assertTrue(inner.next());
+				assertEquals(row, inner.getInt("y"));
+				inner.close();
+			}
+		}
+		assertEquals(1000, row);
+		rs.close();
+		con.commit();
+		con.close();
+	}
+
+	@Test public void executeQueryWithReadAheadShouldNotReadAheadBufferedRecords() throws SQLException {
+		Connection con = DriverManager.getConnection("jdbc:neo4j:" + neo4j.getBoltUrl() + ",readAhead=true");
+		ResultSet rs = con.createStatement().executeQuery("unwind range(1,10) as x return x");
+		assertNull(Whitebox.getInternalState(rs, "readAhead"));
+		con.close();
+	}
+
+	@Test public void executeQueryWithReadAheadShouldThrowTheErrorOfTheQuery() throws SQLException {
+		Connection con = DriverManager.getConnection("jdbc:neo4j:" + neo4j.getBoltUrl() + ",readAhead=true,streaming=true");
+		Statement stmt = con.createStatement();
+		try {
+			ResultSet rs = stmt.executeQuery("unwind range(1,1000) + [0] as x return 1000 / x as x");
+			while (rs.next()) {
+				assertTrue(rs.getInt("x") > 0);
+			}
+			fail();
+		} catch (SQLException e) {
+			assertNotNull(e.getCause());
+		}
+		con.close();
+	}
+
 }
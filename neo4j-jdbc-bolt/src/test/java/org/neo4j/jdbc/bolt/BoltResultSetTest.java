@@ -25,12 +25,20 @@ import org.junit.BeforeClass;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.mockito.InOrder;
+import org.neo4j.driver.v1.Record;
+import org.neo4j.driver.v1.Session;
 import org.neo4j.driver.v1.StatementResult;
+import org.neo4j.driver.v1.Values;
 
 import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Properties;
 
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.*;
 
 /**
  * @author AgileLARUS
@@ -77,4 +85,35 @@ public class BoltResultSetTest {
 		resultSet.close();
 	}
 
+	/*------------------------------*/
+	/*           streaming          */
+	/*------------------------------*/
+
+	@Test public void streamingResultSetShouldPullRecordsWhileIteratingAndDiscardTheRestOnClose() throws SQLException {
+		Record record = mock(Record.class);
+		when(record.values()).thenReturn(Collections.singletonList(Values.value(1)));
+		StatementResult statementResult = mock(StatementResult.class);
+		when(statementResult.keys()).thenReturn(Collections.singletonList("n"));
+		when(statementResult.hasNext()).thenReturn(true);
+		when(statementResult.peek()).thenReturn(record);
+		when(statementResult.next()).thenReturn(record);
+		Session session = mock(Session.class);
+		when(session.isOpen()).thenReturn(true);
+		when(session.run(anyString())).thenReturn(statementResult);
+		Properties properties = new Properties();
+		properties.setProperty("streaming", "true");
+
+		java.sql.ResultSet resultSet = new BoltConnection(session, properties, "").createStatement().executeQuery("MATCH (n) RETURN n");
+		verify(session, never()).beginTransaction();
+		verify(statementResult, never()).next();
+
+		assertTrue(resultSet.next());
+		verify(statementResult, times(1)).next();
+
+		resultSet.close();
+		InOrder inOrder = inOrder(statementResult);
+		inOrder.verify(statementResult).next();
+		inOrder.verify(statementResult).consume();
+		verify(statementResult, times(1)).next();
+	}
 }
@@ -59,6 +59,39 @@ public class BoltStatementIT {
 		neo4j.getGraphDatabase().execute(StatementData.STATEMENT_CREATE_REV);
 	}
 
+	@Test public void executeQueryWithStreamingShouldReturnAllRows() throws SQLException {
+		Connection connection = DriverManager.getConnection("jdbc:neo4j:" + neo4j.getBoltUrl() + ",streaming=true");
+		Statement statement = connection.createStatement();
+		ResultSet rs = statement.executeQuery("UNWIND range(1, 10000) AS x RETURN x");
+
+		int row = 0;
+		while (rs.next()) {
+			assertEquals(++row, rs.getInt("x"));
+		}
+		assertEquals(10000, row);
+		rs.close();
+		connection.close();
+	}
+
+	@Test public void executeQueryWithStreamingShouldLetAnotherStatementRunBeforeTheEnd() throws SQLException {
+		Connection connection = DriverManager.getConnection("jdbc:neo4j:" + neo4j.getBoltUrl() + ",streaming=true");
+		ResultSet first = connection.createStatement().executeQuery("UNWIND range(1, 1000) AS x RETURN x");
+		assertTrue(first.next());
+		assertEquals(1, first.getInt("x"));
+
+		assertEquals(1, connection.createStatement().executeUpdate("CREATE (:StreamingUser {name:'test'})"));
+		ResultSet second = connection.createStatement().executeQuery("MATCH (n:StreamingUser) RETURN n.name");
+		assertTrue(second.next());
+		assertEquals("test", second.getString(1));
+
+		assertTrue(first.next());
+		assertEquals(2, first.getInt("x"));
+		first.close();
+		second.close();
+		connection.close();
+		neo4j.getGraphDatabase().execute("MATCH (n:StreamingUser) DELETE n");
+	}
+
 	@Test public void executeQueryShouldExecuteAndReturnCorrectDataOnAutoCommitFalseStatement() throws SQLException {
 		neo4j.getGraphDatabase().execute(StatementData.STATEMENT_CREATE);
 		Connection connection = DriverManager.getConnection("jdbc:neo4j:" + neo4j.getBoltUrl());
@@ -28,6 +28,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.mockito.internal.util.reflection.Whitebox;
 import org.neo4j.driver.v1.Session;
@@ -66,7 +67,7 @@ import static org.powermock.api.mockito.PowerMockito.whenNew;
 	@Before public void interceptBoltResultSetConstructor() throws Exception {
 		mockedRS = mock(BoltResultSet.class);
 		doNothing().when(mockedRS).close();
-		whenNew(BoltResultSet.class).withArguments(anyObject(), anyObject()).thenReturn(mockedRS);
+		whenNew(BoltResultSet.class).withAnyArguments().thenReturn(mockedRS);
 	}
 
 	/*------------------------------*/
@@ -82,6 +83,17 @@ import static org.powermock.api.mockito.PowerMockito.whenNew;
 
 	}
 
+	@Test public void executeQueryShouldCloseThePreviousResultSet() throws Exception {
+
+		Statement statement = new BoltStatement(mockConnectionOpenWithTransactionThatReturns(null));
+		statement.executeQuery(StatementData.STATEMENT_MATCH_ALL);
+		verify(mockedRS, never()).close();
+
+		statement.executeQuery(StatementData.STATEMENT_MATCH_ALL);
+		verify(mockedRS, times(1)).close();
+
+	}
+
 	@Test public void closeShouldNotCallCloseOnAnyResultSet() throws Exception {
 
 		Statement statement = new BoltStatement(mockConnectionOpenWithTransactionThatReturns(null));
@@ -151,7 +163,7 @@ import static org.powermock.api.mockito.PowerMockito.whenNew;
 		Statement statement = new BoltStatement(mockConnection, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, ResultSet.HOLD_CURSORS_OVER_COMMIT);
 		statement.executeQuery(StatementData.STATEMENT_MATCH_ALL);
 
-		verifyNew(BoltResultSet.class).withArguments(statement, null, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, ResultSet.HOLD_CURSORS_OVER_COMMIT);
+		verifyNew(BoltResultSet.class).withArguments(statement, null, StatementData.STATEMENT_MATCH_ALL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, ResultSet.HOLD_CURSORS_OVER_COMMIT);
 	}
 
 	@Test public void executeQueryShouldThrowExceptionOnClosedStatement() throws SQLException {
@@ -564,6 +576,80 @@ import static org.powermock.api.mockito.PowerMockito.whenNew;
 		}
 	}
 
+	@Test public void executeBatchShouldSendAllStatementsBeforeReadingSummaries() throws SQLException {
+		Statement stmt = new BoltStatement(Mocker.mockConnectionOpen());
+		String str1 = "MATCH n WHERE id(n) = 1 SET n.property=1";
+		String str2 = "MATCH n WHERE id(n) = 2 SET n.property=2";
+		String str3 = "MATCH n WHERE id(n) = 3 SET n.property=3";
+		stmt.addBatch(str1);
+		stmt.addBatch(str2);
+		stmt.addBatch(str3);
+
+		Session session = Mockito.mock(Session.class);
+		StatementResult stmtResult = Mockito.mock(StatementResult.class);
+		StatementResult failedResult = Mockito.mock(StatementResult.class);
+		ResultSummary resultSummary = Mockito.mock(ResultSummary.class);
+		SummaryCounters summaryCounters = Mockito.mock(SummaryCounters.class);
+
+		Mockito.when(session.run(str1)).thenReturn(stmtResult);
+		Mockito.when(session.run(str2)).thenReturn(failedResult);
+		Mockito.when(session.run(str3)).thenReturn(stmtResult);
+		Mockito.when(stmtResult.consume()).thenReturn(resultSummary);
+		Mockito.when(failedResult.consume()).thenThrow(Exception.class);
+		Mockito.when(resultSummary.counters()).thenReturn(summaryCounters);
+		Mockito.when(summaryCounters.nodesCreated()).thenReturn(1);
+
+		BoltConnection connection = (BoltConnection) stmt.getConnection();
+		Mockito.when(connection.getSession()).thenReturn(session);
+		Mockito.when(connection.getAutoCommit()).thenReturn(true);
+
+		try {
+			stmt.executeBatch();
+			fail();
+		} catch (BatchUpdateException e) {
+			assertArrayEquals(new int[] { 1 }, e.getUpdateCounts());
+		}
+		InOrder inOrder = Mockito.inOrder(session, stmtResult);
+		inOrder.verify(session).run(str3);
+		inOrder.verify(stmtResult).consume();
+	}
+
+	@Test public void executeBatchShouldReadSummariesWhenPipelineDepthStatementsAreInFlight() throws SQLException {
+		Statement stmt = new BoltStatement(Mocker.mockConnectionOpen());
+		String[] queries = new String[5];
+		StatementResult[] results = new StatementResult[queries.length];
+		Session session = Mockito.mock(Session.class);
+		ResultSummary resultSummary = Mockito.mock(ResultSummary.class);
+		SummaryCounters summaryCounters = Mockito.mock(SummaryCounters.class);
+		for (int i = 0; i < queries.length; i++) {
+			queries[i] = "MATCH n WHERE id(n) = " + i + " SET n.property=" + i;
+			results[i] = Mockito.mock(StatementResult.class);
+			stmt.addBatch(queries[i]);
+			Mockito.when(session.run(queries[i])).thenReturn(results[i]);
+			Mockito.when(results[i].consume()).thenReturn(resultSummary);
+		}
+		Mockito.when(resultSummary.counters()).thenReturn(summaryCounters);
+		Mockito.when(summaryCounters.nodesCreated()).thenReturn(1);
+
+		BoltConnection connection = (BoltConnection) stmt.getConnection();
+		Mockito.when(connection.getSession()).thenReturn(session);
+		Mockito.when(connection.getAutoCommit()).thenReturn(true);
+		Mockito.when(connection.getPipelineDepth()).thenReturn(2);
+
+		assertArrayEquals(new int[] { 1, 1, 1, 1, 1 }, stmt.executeBatch());
+		InOrder inOrder = Mockito.inOrder(session, results[0], results[1], results[2], results[3], results[4]);
+		inOrder.verify(session).run(queries[0]);
+		inOrder.verify(session).run(queries[1]);
+		inOrder.verify(results[0]).consume();
+		inOrder.verify(session).run(queries[2]);
+		inOrder.verify(results[1]).consume();
+		inOrder.verify(session).run(queries[3]);
+		inOrder.verify(results[2]).consume();
+		inOrder.verify(session).run(queries[4]);
+		inOrder.verify(results[3]).consume();
+		inOrder.verify(results[4]).consume();
+	}
+
 	@Test public void executeBatchShouldThrowExceptionOnClosed() throws SQLException {
 		expectedEx.expect(SQLException.class);
 
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 17/10/2026
+ */
+package org.neo4j.jdbc.bolt;
+
+import org.junit.Test;
+
+import java.util.Properties;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author AgileLARUS
+ * @since 3.0.0
+ */
+public class SharedDriverTest {
+
+	private static Properties credentials(String user, String password) {
+		Properties properties = new Properties();
+		properties.setProperty("user", user);
+		properties.setProperty("password", password);
+		return properties;
+	}
+
+	@Test public void keyShouldBeTheSameForTheSameCredentials() {
+		assertEquals(SharedDriver.key("bolt://localhost:7687", credentials("neo4j", "secret")),
+				SharedDriver.key("bolt://localhost:7687?nossl", credentials("neo4j", "secret")));
+	}
+
+	@Test public void keyShouldDifferForCredentialsWithTheSameConcatenation() {
+		assertNotEquals(SharedDriver.key("bolt://localhost:7687", credentials("a|b", "c")), SharedDriver.key("bolt://localhost:7687", credentials("a", "b|c")));
+		assertNotEquals(SharedDriver.key("bolt://localhost:7687", credentials("neo4j", "secret")),
+				SharedDriver.key("bolt://localhost:7687", credentials("neo4j", "other")));
+	}
+
+	@Test public void keyShouldNotContainThePassword() {
+		assertFalse(SharedDriver.key("bolt://localhost:7687", credentials("neo4j", "secret")).toString().contains("secret"));
+	}
+}
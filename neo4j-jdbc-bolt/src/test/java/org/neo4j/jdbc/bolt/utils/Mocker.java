@@ -48,6 +48,7 @@ public class Mocker {
 		when(session.isOpen()).thenReturn(true);
 		Transaction transaction = mock(Transaction.class);
 		when(session.beginTransaction()).thenReturn(transaction);
+		when(session.run(anyString())).thenReturn(mock(StatementResult.class));
 		return session;
 	}
 
@@ -25,14 +25,16 @@ import org.neo4j.jdbc.http.driver.Neo4jResponse;
 import org.neo4j.jdbc.http.driver.Neo4jResult;
 import org.neo4j.jdbc.http.driver.Neo4jStatement;
 import org.neo4j.jdbc.utils.ExceptionBuilder;
-import org.neo4j.jdbc.utils.UncaughtExceptionLogger;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 
 public class HttpConnection extends Connection implements Loggable {
 
@@ -40,6 +42,31 @@ public class HttpConnection extends Connection implements Loggable {
 	private boolean isClosed = false;
 	private boolean loggable = false;
 
+	/**
+	 * Do we stream the rows of query results, instead of reading them all before returning the ResultSet ?
+	 */
+	private boolean streaming;
+
+	/**
+	 * Max number of statements sent per request by a batch, <code>0</code> to send the whole batch at once.
+	 */
+	private int batchChunkSize;
+
+	/**
+	 * Formats of the result data asked to the server, <code>null</code> to let it use its default.
+	 */
+	private List<String> resultDataContents;
+
+	/**
+	 * Do we ask the server for stats on every statement, even when the caller doesn't need them ?
+	 */
+	private boolean alwaysIncludeStats;
+
+	/**
+	 * Do we defer the updates made in a transaction until its next request or its commit ?
+	 */
+	private boolean deferUpdates;
+
 	/**
 	 * Default constructor.
 	 *
@@ -50,10 +77,53 @@ public class HttpConnection extends Connection implements Loggable {
 	public HttpConnection(String host, Integer port, Boolean secure, Properties properties, String url) throws SQLException {
 		super(properties, url, ResultSet.CLOSE_CURSORS_AT_COMMIT);
 		this.executor = new CypherExecutor(host, port, secure, properties);
+		this.streaming = Boolean.valueOf(properties.getProperty("streaming", "false"));
+		this.batchChunkSize = Integer.parseInt(properties.getProperty("batchchunksize", "0"));
+		this.resultDataContents = parseResultDataContents(properties.getProperty("resultdatacontents", "row"));
+		this.deferUpdates = Boolean.valueOf(properties.getProperty("deferupdates", "false"));
+		String includeStats = properties.getProperty("includestats", "auto");
+		if ("always".equalsIgnoreCase(includeStats)) {
+			this.alwaysIncludeStats = true;
+		} else if (!"auto".equalsIgnoreCase(includeStats)) {
+			this.executor.close();
+			throw new SQLException("Unknown includeStats mode: " + includeStats);
+		}
+	}
+
+	/**
+	 * Parse the <code>|</code> separated list of result data formats, an empty value means the server default.
+	 *
+	 * @param value The property value
+	 * @return The list of formats, or <code>null</code>
+	 */
+	private static List<String> parseResultDataContents(String value) {
+		List<String> formats = new ArrayList<>();
+		for (String format : value.split("\\|")) {
+			if (!format.trim().isEmpty()) {
+				formats.add(format.trim());
+			}
+		}
+		return formats.isEmpty() ? null : formats;
+	}
+
+	/**
+	 * Build the statement sent to the server, with the result data formats and stats of the connection.
+	 *
+	 * @param query      Cypher query
+	 * @param parameters Parameter of the cypher query
+	 * @param stats      Does the caller need the stats ?
+	 * @return
+	 */
+	private Neo4jStatement createStatement(String query, Map<String, Object> parameters, Boolean stats) throws SQLException {
+		return new Neo4jStatement(query, parameters, alwaysIncludeStats || Boolean.TRUE.equals(stats), resultDataContents);
 	}
 
 	/**
 	 * Execute a cypher query.
+	 * If the connection has a <code>batchChunkSize</code>, the queries are sent by consecutive requests of at most that
+	 * many statements, into the current transaction (or one transaction per request in autocommit mode).
+	 * We stop at the first request that fails, and the returned response contains the results and errors of all
+	 * the requests made.
 	 *
 	 * @param queries    List of cypher queries
 	 * @param parameters Parameter of the cypher queries (match by index)
@@ -73,10 +143,20 @@ public class HttpConnection extends Connection implements Loggable {
 			Map<String, Object> params = parameters.get(i);
 
 			checkReadOnly(query);
-			neo4jStatements.add(new Neo4jStatement(query, params, stats));
+			neo4jStatements.add(createStatement(query, params, stats));
+		}
+
+		if (batchChunkSize <= 0 || neo4jStatements.size() <= batchChunkSize) {
+			return executor.executeQueries(neo4jStatements);
 		}
 
-		return executor.executeQueries(neo4jStatements);
+		Neo4jResponse response = executor.executeQueries(neo4jStatements.subList(0, batchChunkSize));
+		for (int from = batchChunkSize; from < neo4jStatements.size() && !response.hasErrors(); from += batchChunkSize) {
+			Neo4jResponse chunk = executor.executeQueries(neo4jStatements.subList(from, Math.min(from + batchChunkSize, neo4jStatements.size())));
+			response.results.addAll(chunk.results);
+			response.errors.addAll(chunk.errors);
+		}
+		return response;
 	}
 
 	/**
@@ -88,9 +168,88 @@ public class HttpConnection extends Connection implements Loggable {
 	 * @return
 	 */
 	public Neo4jResponse executeQuery(final String query, Map<String, Object> parameters, Boolean stats) throws SQLException {
+		return this.executeQuery(query, parameters, stats, Boolean.FALSE);
+	}
+
+	/**
+	 * Execute a cypher query.
+	 * Rows are streamed if the caller accepts it and the connection has the <code>streaming</code> property,
+	 * in which case the stats of the result are only known once all its rows have been read.
+	 *
+	 * @param query      Cypher query
+	 * @param parameters Parameter of the cypher query
+	 * @param stats      Do we need to include stats ?
+	 * @param stream     Can the rows of the result be streamed ?
+	 * @return
+	 */
+	public Neo4jResponse executeQuery(final String query, Map<String, Object> parameters, Boolean stats, Boolean stream) throws SQLException {
 		checkClosed();
 		checkReadOnly(query);
-		return executor.executeQuery(new Neo4jStatement(query, parameters, stats));
+		return executor.executeQuery(createStatement(query, parameters, stats), stream && streaming);
+	}
+
+	/**
+	 * Execute a cypher query without blocking the calling thread, which is only available in autocommit mode.
+	 * Use <code>connection.unwrap(HttpConnection.class)</code> to get access to this method.
+	 * The query is sent by a thread of a pool of <code>asyncThreads</code> threads, which bounds the number of queries in flight.
+	 *
+	 * @param query      Cypher query
+	 * @param parameters Parameter of the cypher query
+	 * @param stats      Do we need to include stats ?
+	 * @return The future response
+	 */
+	public Future<Neo4jResponse> executeQueryAsync(final String query, Map<String, Object> parameters, Boolean stats) throws SQLException {
+		checkClosed();
+		checkReadOnly(query);
+		return executor.executeQueryAsync(createStatement(query, parameters, stats));
+	}
+
+	/**
+	 * Defer an update until the next request of the transaction, or its commit, if the connection has the
+	 * <code>deferUpdates</code> property, is not in autocommit mode and the query can't return rows.
+	 * The update counts are then known after the commit, see <code>getDeferredUpdateCounts</code>.
+	 * Only <code>execute</code> defers its query : <code>executeUpdate</code> must return the update count of its own.
+	 *
+	 * @param query      Cypher query
+	 * @param parameters Parameter of the cypher query
+	 * @return <code>true</code> if the update has been deferred, <code>false</code> if it must be executed now
+	 */
+	public boolean deferUpdate(final String query, Map<String, Object> parameters) throws SQLException {
+		checkClosed();
+		if (!deferUpdates || this.getAutoCommit() || mayReturnRows(query)) {
+			return false;
+		}
+		checkReadOnly(query);
+		// The parameters of a prepared statement can be changed before the update is sent
+		Map<String, Object> params = (parameters != null) ? new HashMap<>(parameters) : null;
+		executor.deferQuery(createStatement(query, params, Boolean.TRUE));
+		return true;
+	}
+
+	/**
+	 * Detect the cypher keywords of a query that returns rows.
+	 *
+	 * @param query Cypher query
+	 * @return
+	 */
+	private static boolean mayReturnRows(String query) {
+		return query.matches("(?is).*\\b(return|call)\\b.*");
+	}
+
+	/**
+	 * Retrieve the update counts of the deferred updates of the last committed transaction.
+	 * Use <code>connection.unwrap(HttpConnection.class)</code> to get access to this method.
+	 *
+	 * @return The update counts, in the order of the updates
+	 */
+	public int[] getDeferredUpdateCounts() throws SQLException {
+		checkClosed();
+		List<Neo4jResult> results = executor.getCommittedDeferredResults();
+		int[] counts = new int[results.size()];
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] = computeResultUpdateCount(results.get(i));
+		}
+		return counts;
 	}
 
 	/**
@@ -211,45 +370,14 @@ public class HttpConnection extends Connection implements Loggable {
 	/*-------------------*/
 
 	@Override public boolean isValid(int timeout) throws SQLException {
-		if (timeout < 0) {
-			throw new SQLException("Timeout can't be less than zero");
-		}
-		if (this.isClosed()) {
-			return false;
-		}
-
-		UncaughtExceptionLogger h = new UncaughtExceptionLogger();
-
-		Thread t = new Thread() {
-			public void run() {
+		return this.validate(timeout, new Callable<Object>() {
+			@Override public Object call() throws Exception {
 				if (executor.getOpenTransactionId() != null && executor.getOpenTransactionId() > 0) {
-					try {
-						executor.executeQuery(new Neo4jStatement(FASTEST_STATEMENT, null, null));
-					} catch (Exception e) {
-						throw new RuntimeException();
-					}
+					executor.executeQuery(new Neo4jStatement(FASTEST_STATEMENT, null, null));
 				}
+				return null;
 			}
-		};
-
-		t.setUncaughtExceptionHandler(h);
-
-		try {
-			t.start();
-			t.join(timeout * 1000);
-		} catch (InterruptedException e) {
-		}
-
-		if (t.isAlive()) {
-			t.interrupt();
-			return false;
-		}
-
-		if(!h.getExceptions().isEmpty()){
-			return false;
-		}
-
-		return true;
+		});
 	}
 
 	/*--------------------*/
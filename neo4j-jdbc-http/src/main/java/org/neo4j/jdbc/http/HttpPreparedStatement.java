@@ -21,11 +21,13 @@ package org.neo4j.jdbc.http;
 
 import org.neo4j.jdbc.*;
 import org.neo4j.jdbc.http.driver.Neo4jResponse;
+import org.neo4j.jdbc.utils.PreparedStatementBuilder;
 
 import java.sql.BatchUpdateException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -49,23 +51,50 @@ public class HttpPreparedStatement extends PreparedStatement implements Loggable
 	@Override public ResultSet executeQuery() throws SQLException {
 		checkClosed();
 
-		this.execute();
+		this.execute(Boolean.FALSE);
 		return currentResultSet;
 	}
 
 	@Override public int executeUpdate() throws SQLException {
-		this.execute();
+		checkClosed();
+		this.execute(Boolean.TRUE);
 		return currentUpdateCount;
 	}
 
 	@Override public boolean execute() throws SQLException {
 		checkClosed();
+		this.closeCurrentResultSet();
+		// In a transaction, an update without rows can be sent later with another request, its count is then unknown
+		if (((HttpConnection) getConnection()).deferUpdate(this.statement, this.parameters)) {
+			this.currentResultSet = null;
+			this.currentUpdateCount = -1;
+			return false;
+		}
+		return this.execute(Boolean.FALSE);
+	}
+
+	/**
+	 * Execute the prepared query.
+	 *
+	 * @param update Is it an update, whose count is needed ? Otherwise the rows of the result can be streamed and
+	 *               the stats are not asked to the server (the update count is unknown then)
+	 */
+	private boolean execute(Boolean update) throws SQLException {
+		checkClosed();
+		this.closeCurrentResultSet();
 
 		// execute the query
-		Neo4jResponse response = ((HttpConnection) getConnection()).executeQuery(this.statement, this.parameters, Boolean.TRUE);
+		Neo4jResponse response = ((HttpConnection) getConnection()).executeQuery(this.statement, this.parameters, update, !update);
+
+		if (response.hasErrors()) {
+			throw new SQLException(response.displayErrors());
+		}
 
 		// Parse stats
-		this.currentUpdateCount = ((HttpConnection) getConnection()).computeResultUpdateCount(response.results.get(0));
+		this.currentUpdateCount = -1;
+		if (!response.results.get(0).isStreaming() && response.results.get(0).stats != null) {
+			this.currentUpdateCount = ((HttpConnection) getConnection()).computeResultUpdateCount(response.results.get(0));
+		}
 
 		// Parse response data
 		this.currentResultSet = null;
@@ -116,6 +145,12 @@ public class HttpPreparedStatement extends PreparedStatement implements Loggable
 	@Override public int[] executeBatch() throws SQLException {
 		this.checkClosed();
 
+		int unwindBatchSize = ((HttpConnection) getConnection()).getUnwindBatchSize();
+		String unwind = unwindBatchSize > 0 ? PreparedStatementBuilder.toUnwindBatch(this.statement) : null;
+		if (unwind != null) {
+			return this.executeUnwindBatch(unwind, unwindBatchSize);
+		}
+
 		List<String> queries = new ArrayList<>();
 		for (int i = 0; i < batchParameters.size(); i++) {
 			queries.add(this.statement);
@@ -127,6 +162,7 @@ public class HttpPreparedStatement extends PreparedStatement implements Loggable
 		int[] result = new int[response.results.size()];
 		for (int i = 0; i < response.results.size(); i++) {
 			result[i] = ((HttpConnection) getConnection()).computeResultUpdateCount(response.results.get(i));
+			response.results.get(i).close();
 		}
 
 		// we check if there is some error into the response => batch exception
@@ -141,6 +177,38 @@ public class HttpPreparedStatement extends PreparedStatement implements Loggable
 		return result;
 	}
 
+	/**
+	 * Execute the batch with statements that each run the prepared statement for several rows.
+	 * The update count of each row is unknown.
+	 *
+	 * @param unwind          The prepared statement rewritten with UNWIND
+	 * @param unwindBatchSize The max number of rows by statement
+	 */
+	private int[] executeUnwindBatch(String unwind, int unwindBatchSize) throws SQLException {
+		List<Map<String, Object>> batches = PreparedStatementBuilder.toUnwindBatchParameters(batchParameters, unwindBatchSize);
+		List<String> queries = new ArrayList<>();
+		for (int i = 0; i < batches.size(); i++) {
+			queries.add(unwind);
+		}
+		Neo4jResponse response = ((HttpConnection) getConnection()).executeQueries(queries, batches, Boolean.FALSE);
+
+		int done = 0;
+		for (int i = 0; i < response.results.size(); i++) {
+			done += ((List) batches.get(i).get(PreparedStatementBuilder.UNWIND_BATCH_PARAMETER)).size();
+		}
+		int[] result = new int[done];
+		Arrays.fill(result, SUCCESS_NO_INFO);
+
+		if (response.errors != null && response.errors.size() > 0) {
+			throw new BatchUpdateException(result, response.errors.get(0).getCause());
+		}
+		if (response.results.size() != batches.size()) {
+			throw new BatchUpdateException("Result size doesn't match queries size", result);
+		}
+
+		return result;
+	}
+
 	/*--------------------*/
 	/*       Logger       */
 	/*--------------------*/
@@ -55,9 +55,9 @@ public class HttpResultSet extends ResultSet implements Loggable {
 	private int row = -1;
 
 	/**
-	 * The current row of the iterator.
+	 * Is the iterator on a row ?
 	 */
-	private List<Object> currentRow;
+	private boolean onRow;
 
 	/**
 	 * Is the last read column was null.
@@ -85,49 +85,38 @@ public class HttpResultSet extends ResultSet implements Loggable {
 	}
 
 	/**
-	 * Retrieve the object that match the asked column.
+	 * Check the asked column, and whether its value on the current row is null.
 	 *
-	 * @param column Index of the column to retrieve
-	 * @return
-	 * @throws SQLDataException
+	 * @param column Index of the column
+	 * @return <code>true</code> if the value is null
+	 * @throws SQLException
 	 */
-	private Object get(int column) throws SQLDataException {
+	private boolean checkNull(int column) throws SQLException {
 
 		if (column < 1 || column > result.columns.size()) {
 			throw new SQLDataException("Column " + column + " is invalid");
 		}
-
-		Object value = currentRow.get(column - 1);
-
-		if (value == null) {
-			wasNull = true;
-		} else {
-			wasNull = false;
+		if (!onRow) {
+			throw new SQLDataException("ResultSet is not on a row");
 		}
-		return value;
+
+		wasNull = result.isNull(column - 1);
+		return wasNull;
 	}
 
 	/**
-	 * Retrieve a Numeric object from the currentRow that correspond to the column index.
+	 * Retrieve the object that match the asked column.
 	 *
-	 * @param columnIndex Index of the column
-	 * @return 0 if null, otherwise a number
-	 * @throws SQLException If the object cannot be cast to Number
+	 * @param column Index of the column to retrieve
+	 * @return
+	 * @throws SQLException
 	 */
-	private Number getNumber(int columnIndex) throws SQLException {
+	private Object get(int column) throws SQLException {
 
-		Number num = null;
-		Object value = get(columnIndex);
-
-		if (value != null) {
-			if (value instanceof Number) {
-				num = (Number) value;
-			} else {
-				throw new SQLDataException("Value is not a number" + value);
-
-			}
+		if (checkNull(column)) {
+			return null;
 		}
-		return num;
+		return result.getObject(column - 1);
 	}
 
 	@Override
@@ -135,22 +124,20 @@ public class HttpResultSet extends ResultSet implements Loggable {
 
 		checkClosed();
 		row++;
-		if (row < result.rows.size()) {
-			currentRow = (List<Object>) result.rows.get(row).get("row");
-			return true;
-		} else {
-			currentRow = null;
-			return false;
-		}
+		onRow = result.next();
+		return onRow;
 	}
 
 	@Override
 	public void close() throws SQLException {
 
+		if (result != null) {
+			result.close();
+		}
 		result = null;
 		row = -1;
 		isClosed = true;
-		currentRow = null;
+		onRow = false;
 	}
 
 	@Override
@@ -198,61 +185,60 @@ public class HttpResultSet extends ResultSet implements Loggable {
 	public boolean getBoolean(int columnIndex) throws SQLException {
 
 		checkClosed();
-		Boolean result = (Boolean) get(columnIndex);
-		if (result == null)
+		if (checkNull(columnIndex))
 			return false;
 		else
-			return result;
+			return result.getBoolean(columnIndex - 1);
 	}
 
 	@Override
 	public short getShort(int columnIndex) throws SQLException {
 
 		checkClosed();
-		if (getNumber(columnIndex) == null)
+		if (checkNull(columnIndex))
 			return 0;
 		else
-			return getNumber(columnIndex).shortValue();
+			return (short) result.getLong(columnIndex - 1);
 	}
 
 	@Override
 	public int getInt(int columnIndex) throws SQLException {
 
 		checkClosed();
-		if (getNumber(columnIndex) == null)
+		if (checkNull(columnIndex))
 			return 0;
 		else
-			return getNumber(columnIndex).intValue();
+			return (int) result.getLong(columnIndex - 1);
 	}
 
 	@Override
 	public long getLong(int columnIndex) throws SQLException {
 
 		checkClosed();
-		if (getNumber(columnIndex) == null)
+		if (checkNull(columnIndex))
 			return 0;
 		else
-			return getNumber(columnIndex).longValue();
+			return result.getLong(columnIndex - 1);
 	}
 
 	@Override
 	public float getFloat(int columnIndex) throws SQLException {
 
 		checkClosed();
-		if (getNumber(columnIndex) == null)
+		if (checkNull(columnIndex))
 			return 0;
 		else
-			return getNumber(columnIndex).floatValue();
+			return (float) result.getDouble(columnIndex - 1);
 	}
 
 	@Override
 	public double getDouble(int columnIndex) throws SQLException {
 
 		checkClosed();
-		if (getNumber(columnIndex) == null)
+		if (checkNull(columnIndex))
 			return 0;
 		else
-			return getNumber(columnIndex).doubleValue();
+			return result.getDouble(columnIndex - 1);
 	}
 
 	@Override
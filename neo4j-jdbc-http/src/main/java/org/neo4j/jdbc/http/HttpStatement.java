@@ -42,28 +42,51 @@ public class HttpStatement extends Statement implements Loggable {
 	}
 
 	@Override public ResultSet executeQuery(String cypher) throws SQLException {
-		this.execute(cypher);
+		this.execute(cypher, Boolean.FALSE);
 		return currentResultSet;
 	}
 
 	@Override public int executeUpdate(String cypher) throws SQLException {
-		this.execute(cypher);
+		checkClosed();
+		this.execute(cypher, Boolean.TRUE);
 		return currentUpdateCount;
 	}
 
 	@Override public boolean execute(String cypher) throws SQLException {
 		checkClosed();
+		this.closeCurrentResultSet();
+		// In a transaction, an update without rows can be sent later with another request, its count is then unknown
+		if (((HttpConnection) getConnection()).deferUpdate(cypher, null)) {
+			this.currentResultSet = null;
+			this.currentUpdateCount = -1;
+			return false;
+		}
+		return this.execute(cypher, Boolean.FALSE);
+	}
+
+	/**
+	 * Execute the query.
+	 *
+	 * @param cypher The cypher query
+	 * @param update Is it an update, whose count is needed ? Otherwise the rows of the result can be streamed and
+	 *               the stats are not asked to the server (the update count is unknown then)
+	 */
+	private boolean execute(String cypher, Boolean update) throws SQLException {
+		checkClosed();
+		this.closeCurrentResultSet();
 
 		// execute the query
-		Neo4jResponse response = ((HttpConnection) getConnection()).executeQuery(cypher, null, Boolean.TRUE);
+		Neo4jResponse response = ((HttpConnection) getConnection()).executeQuery(cypher, null, update, !update);
 
 		if(response.hasErrors()) {
 			throw new SQLException(response.displayErrors());
 		}
 
 		// Parse stats
-		this.currentUpdateCount = 0;
-		this.currentUpdateCount = ((HttpConnection) getConnection()).computeResultUpdateCount(response.results.get(0));
+		this.currentUpdateCount = -1;
+		if (!response.results.get(0).isStreaming() && response.results.get(0).stats != null) {
+			this.currentUpdateCount = ((HttpConnection) getConnection()).computeResultUpdateCount(response.results.get(0));
+		}
 
 		// Parse response data
 		this.currentResultSet = null;
@@ -114,6 +137,7 @@ public class HttpStatement extends Statement implements Loggable {
 		int[] result = new int[response.results.size()];
 		for (int i = 0; i < response.results.size(); i++) {
 			result[i] = ((HttpConnection) getConnection()).computeResultUpdateCount(response.results.get(i));
+			response.results.get(i).close();
 		}
 
 		// we check if there is some error into the response => batch exception
@@ -21,17 +21,31 @@ package org.neo4j.jdbc.http.driver;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpException;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.client.AuthCache;
 import org.apache.http.client.CredentialsProvider;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.entity.GzipCompressingEntity;
 import org.apache.http.client.methods.*;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.ContentType;
-import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.auth.BasicScheme;
+import org.apache.http.impl.client.BasicAuthCache;
 import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
 import org.apache.http.message.BasicHeader;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -42,6 +56,15 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Execute cypher queries.
@@ -70,11 +93,115 @@ public class CypherExecutor {
 	 */
 	private CloseableHttpClient http;
 
+	/**
+	 * The pool of http connections, shared with the other executors on the same server.
+	 */
+	final SharedConnectionManager connectionManager;
+
 	/**
 	 * URL of the current transaction.
 	 */
 	private String currentTransactionUrl;
 
+	/**
+	 * Size in bytes above which request bodies are gzipped, <code>-1</code> if compression is disabled.
+	 */
+	final int compressionThreshold;
+
+	/**
+	 * Http context of this executor, reused for every request so the authentication state is kept.
+	 */
+	final HttpClientContext context;
+
+	/**
+	 * Credentials of the connection, if any.
+	 */
+	private CredentialsProvider credentialsProvider;
+
+	/**
+	 * Host to which the credentials are sent preemptively, if any.
+	 */
+	private HttpHost preemptiveAuthHost;
+
+	/**
+	 * Size of the shared thread pool for asynchronous queries, if this executor creates it.
+	 */
+	private final int asyncThreads;
+
+	/**
+	 * Thread pool that runs the asynchronous queries of all the executors.
+	 * It is JVM-wide : created by the first asynchronous query, with the <code>asyncThreads</code> of its executor,
+	 * and the values of the executors created later are ignored.
+	 */
+	private static ExecutorService asyncExecutor;
+
+	/**
+	 * Memory above which the rows of a result are written to disk, <code>0</code> for no limit.
+	 */
+	private final long maxResultMemory;
+
+	/**
+	 * Do we keep the open transaction alive while it is idle ?
+	 */
+	private final boolean transactionKeepAlive;
+
+	/**
+	 * Delay in milliseconds of idleness after which the open transaction is kept alive, half of its timeout on the server.
+	 */
+	private long keepAliveDelay = -1;
+
+	/**
+	 * Time of the last request made into the transaction.
+	 */
+	private long lastActivity;
+
+	/**
+	 * Next keep-alive of the open transaction, if any.
+	 */
+	private ScheduledFuture<?> keepAliveTask;
+
+	/**
+	 * Failure of the last keep-alive, that rolled back the open transaction on the server.
+	 * It is thrown by the next request of the transaction until <code>rollback()</code>, instead of letting a new
+	 * transaction begin without the work of the lost one.
+	 */
+	private SQLException keepAliveFailure;
+
+	/**
+	 * Scheduler that keeps alive the transactions of all the executors.
+	 */
+	private static ScheduledThreadPoolExecutor keepAliveScheduler;
+
+	/**
+	 * Number of http exchanges made by this executor (authentication challenges included).
+	 */
+	private final AtomicLong exchangeCount = new AtomicLong();
+
+	/**
+	 * Is this executor closed ?
+	 */
+	private boolean closed = false;
+
+	/**
+	 * Statements of the transaction deferred until its next request, or its commit.
+	 */
+	private final List<Neo4jStatement> deferredQueries = new ArrayList<>();
+
+	/**
+	 * Results of the deferred statements already sent into the current transaction.
+	 */
+	private List<Neo4jResult> deferredResults = new ArrayList<>();
+
+	/**
+	 * Results of the deferred statements of the last committed transaction.
+	 */
+	private List<Neo4jResult> committedResults = new ArrayList<>();
+
+	/**
+	 * Response whose rows are still streamed, if any.
+	 */
+	private Neo4jResponse openStream;
+
 	/**
 	 * Jackson mapper object.
 	 */
@@ -91,13 +218,48 @@ public class CypherExecutor {
 	public CypherExecutor(String host, Integer port, Boolean secure, Properties properties) throws SQLException {
 		this.secure = secure;
 
-		// Create the http client builder
+		// Create the url endpoint
+		this.transactionUrl = createTransactionUrl(host, port, secure);
+
+		// The properties are read before the shared connection pool is acquired, which must be released on a failure
+		this.asyncThreads = Integer.parseInt(properties.getProperty("asyncthreads", "8"));
+		this.maxResultMemory = Long.parseLong(properties.getProperty("maxresultmemory", "0"));
+		this.transactionKeepAlive = Boolean.valueOf(properties.getProperty("transactionkeepalive", "false"));
+
+		// Setting compression : responses are decompressed by the http client, which sends the Accept-Encoding header
+		String compression = properties.getProperty("compression");
+		if (compression == null || compression.equalsIgnoreCase("none")) {
+			this.compressionThreshold = -1;
+		} else if (compression.equalsIgnoreCase("gzip")) {
+			this.compressionThreshold = Integer.parseInt(properties.getProperty("compressionthreshold", "4096"));
+		} else {
+			throw new SQLException("Unsupported compression " + compression + ", only gzip is available");
+		}
+
+		// Create the http client builder, on top of the shared connection pool
+		this.connectionManager = SharedConnectionManager.acquire(host, port, secure, properties);
 		HttpClientBuilder builder = HttpClients.custom();
+		builder.setConnectionManager(connectionManager.manager);
+		builder.setDefaultRequestConfig(RequestConfig.custom().setStaleConnectionCheckEnabled(connectionManager.staleConnectionCheck).build());
 
 		// Adding authentication to the http client if needed
-		CredentialsProvider credentialsProvider = getCredentialsProvider(host, port, properties);
-		if (credentialsProvider != null)
+		this.credentialsProvider = getCredentialsProvider(host, port, properties);
+		if (credentialsProvider != null) {
 			builder.setDefaultCredentialsProvider(credentialsProvider);
+			// Basic credentials are sent with the first request, instead of waiting for a 401 challenge
+			if (Boolean.valueOf(properties.getProperty("preemptiveauth", "true"))) {
+				this.preemptiveAuthHost = new HttpHost(host, port, secure ? "https" : "http");
+			}
+		}
+		this.context = this.createContext();
+
+		// Counting the http exchanges where requests are sent on the connections, below the retries of authentication
+		builder.setRequestExecutor(new HttpRequestExecutor() {
+			@Override public HttpResponse execute(HttpRequest request, HttpClientConnection conn, HttpContext context) throws IOException, HttpException {
+				exchangeCount.incrementAndGet();
+				return super.execute(request, conn, context);
+			}
+		});
 
 		// Setting user-agent
 		String userAgent = properties.getProperty("useragent");
@@ -105,9 +267,6 @@ public class CypherExecutor {
 		// Create the http client
 		this.http = builder.build();
 
-		// Create the url endpoint
-		this.transactionUrl = createTransactionUrl(host, port, secure);
-
 		// Setting autocommit
 		this.setAutoCommit(Boolean.valueOf(properties.getProperty("autoCommit", "true")));
 	}
@@ -123,6 +282,22 @@ public class CypherExecutor {
 		}
 	}
 
+	/**
+	 * Create an http context with the authentication state of this executor.
+	 */
+	private HttpClientContext createContext() {
+		HttpClientContext context = HttpClientContext.create();
+		if (credentialsProvider != null) {
+			context.setCredentialsProvider(credentialsProvider);
+			if (preemptiveAuthHost != null) {
+				AuthCache authCache = new BasicAuthCache();
+				authCache.put(preemptiveAuthHost, new BasicScheme());
+				context.setAuthCache(authCache);
+			}
+		}
+		return context;
+	}
+
 	private CredentialsProvider getCredentialsProvider(String host, Integer port, Properties properties) {
 		if (properties.containsKey("password")) {
 			String user = properties.getProperty("user", properties.getProperty("username", "neo4j"));
@@ -141,15 +316,95 @@ public class CypherExecutor {
 	 * @return A list of Neo4j response
 	 */
 	public Neo4jResponse executeQueries(List<Neo4jStatement> queries) throws SQLException {
+		return this.executeQueries(queries, Boolean.FALSE);
+	}
+
+	/**
+	 * Execute a list of cypher queries.
+	 * In stream mode, the rows of the first result are decoded as they are read, and the response stays open
+	 * until they are all consumed or another request is made.
+	 *
+	 * @param queries List of cypher query object
+	 * @param stream  Do we stream the rows of the first result ?
+	 * @return A list of Neo4j response
+	 */
+	public synchronized Neo4jResponse executeQueries(List<Neo4jStatement> queries, Boolean stream) throws SQLException {
+		this.checkKeepAliveFailure();
+
+		// The deferred statements are sent first, and the streamed result must be the first of the response
+		int deferred = deferredQueries.size();
+		if (deferred > 0) {
+			List<Neo4jStatement> statements = new ArrayList<>(deferredQueries);
+			statements.addAll(queries);
+			deferredQueries.clear();
+			queries = statements;
+			stream = Boolean.FALSE;
+		}
+
 		// Prepare the headers query
 		HttpPost request = new HttpPost(currentTransactionUrl);
 
-		// Prepare body request
-		StringEntity requestEntity = new StringEntity(Neo4jStatement.toJson(queries, mapper), ContentType.APPLICATION_JSON);
-		request.setEntity(requestEntity);
+		// Prepare body request, it is serialized while it is sent
+		request.setEntity(this.createRequestEntity(queries));
 
 		// Make the request
-		return this.executeHttpRequest(request);
+		Neo4jResponse response = this.executeHttpRequest(request, stream);
+
+		// The results of the deferred statements are kept apart until the commit
+		if (deferred > 0) {
+			List<Neo4jResult> results = response.results.subList(0, Math.min(deferred, response.results.size()));
+			if (!response.hasErrors()) {
+				deferredResults.addAll(results);
+			}
+			results.clear();
+		}
+		return response;
+	}
+
+	/**
+	 * Defer a cypher query until the next request of the transaction, or its commit.
+	 * This is only available when a transaction is used, ie. not in autocommit mode.
+	 *
+	 * @param query Cypher query object.
+	 */
+	public synchronized void deferQuery(Neo4jStatement query) throws SQLException {
+		if (autoCommit) {
+			throw new SQLException("Statements can only be deferred in a transaction");
+		}
+		this.checkKeepAliveFailure();
+		deferredQueries.add(query);
+	}
+
+	/**
+	 * Retrieve the results of the deferred statements of the last committed transaction, in order.
+	 *
+	 * @return The results, empty if no statement was deferred
+	 */
+	public synchronized List<Neo4jResult> getCommittedDeferredResults() {
+		return committedResults;
+	}
+
+	/**
+	 * Create the body of a request.
+	 * With gzip compression, bodies bigger than the compression threshold are compressed while they are sent.
+	 *
+	 * @param queries List of cypher query object
+	 * @return The http entity
+	 */
+	private HttpEntity createRequestEntity(List<Neo4jStatement> queries) throws SQLException {
+		Neo4jStatementEntity entity = new Neo4jStatementEntity(queries, mapper);
+		if (compressionThreshold < 0) {
+			return entity;
+		}
+		try {
+			byte[] body = entity.toByteArray(compressionThreshold);
+			if (body != null) {
+				return new ByteArrayEntity(body, ContentType.APPLICATION_JSON);
+			}
+			return new GzipCompressingEntity(entity);
+		} catch (IOException e) {
+			throw new SQLException("Can't convert Cypher statement(s) into JSON", e);
+		}
 	}
 
 	/**
@@ -158,24 +413,177 @@ public class CypherExecutor {
 	 * @param query Cypher query object.
 	 */
 	public Neo4jResponse executeQuery(Neo4jStatement query) throws SQLException {
+		return this.executeQuery(query, Boolean.FALSE);
+	}
+
+	/**
+	 * Execute a cypher query.
+	 *
+	 * @param query  Cypher query object.
+	 * @param stream Do we stream the rows of the result ?
+	 */
+	public Neo4jResponse executeQuery(Neo4jStatement query, Boolean stream) throws SQLException {
 		List<Neo4jStatement> queries = new ArrayList<>();
 		queries.add(query);
-		return this.executeQueries(queries);
+		return this.executeQueries(queries, stream);
+	}
+
+	/**
+	 * Execute a list of cypher queries without blocking the calling thread.
+	 * The request is made by a small thread pool shared by all the executors, and as it is independent from the state
+	 * of this executor, this is only available in autocommit mode.
+	 * The http client is blocking, so each request in flight holds a thread of the pool : at most <code>asyncThreads</code>
+	 * requests are sent at the same time in the JVM, the next ones wait for a thread.
+	 *
+	 * @param queries List of cypher query object
+	 * @return The future Neo4j response
+	 */
+	public Future<Neo4jResponse> executeQueriesAsync(List<Neo4jStatement> queries) throws SQLException {
+		if (!autoCommit) {
+			throw new SQLException("Asynchronous execution is only available in autocommit mode");
+		}
+		final HttpPost request = new HttpPost(this.transactionUrl + "/commit");
+		request.setEntity(this.createRequestEntity(queries));
+
+		// The context of the executor can't be shared by concurrent requests
+		final HttpClientContext requestContext = this.createContext();
+		return getAsyncExecutor(asyncThreads).submit(new Callable<Neo4jResponse>() {
+			@Override public Neo4jResponse call() throws SQLException {
+				return sendHttpRequest(request, requestContext, Boolean.FALSE);
+			}
+		});
+	}
+
+	/**
+	 * Execute a cypher query without blocking the calling thread.
+	 *
+	 * @param query Cypher query object.
+	 * @return The future Neo4j response
+	 */
+	public Future<Neo4jResponse> executeQueryAsync(Neo4jStatement query) throws SQLException {
+		List<Neo4jStatement> queries = new ArrayList<>();
+		queries.add(query);
+		return this.executeQueriesAsync(queries);
+	}
+
+	/**
+	 * Get the JVM-wide pool of the asynchronous queries.
+	 *
+	 * @param threads Size of the pool, only used if it is not created yet
+	 */
+	private static synchronized ExecutorService getAsyncExecutor(int threads) {
+		if (asyncExecutor == null) {
+			asyncExecutor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+				@Override public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "neo4j-jdbc-http-async");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+		return asyncExecutor;
+	}
+
+	private static synchronized ScheduledThreadPoolExecutor getKeepAliveScheduler() {
+		if (keepAliveScheduler == null) {
+			keepAliveScheduler = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+				@Override public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "neo4j-jdbc-http-keepalive");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+			keepAliveScheduler.setRemoveOnCancelPolicy(true);
+		}
+		return keepAliveScheduler;
+	}
+
+	/**
+	 * Schedule the keep-alive of the open transaction, if it is enabled and there is none yet.
+	 * The keep-alive is not rescheduled by each request : when it runs, it checks the time of the last request instead.
+	 */
+	private void scheduleKeepAlive(long delay) {
+		if (transactionKeepAlive && keepAliveTask == null && keepAliveDelay > 0 && this.getOpenTransactionId() > 0) {
+			keepAliveTask = getKeepAliveScheduler().schedule(new Runnable() {
+				@Override public void run() {
+					keepAlive();
+				}
+			}, delay, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Cancel the keep-alive of the transaction, if any.
+	 */
+	private void cancelKeepAlive() {
+		if (keepAliveTask != null) {
+			keepAliveTask.cancel(false);
+			keepAliveTask = null;
+		}
+	}
+
+	/**
+	 * Keep the open transaction alive, by sending it an empty list of statements if it has been idle for too long.
+	 */
+	private synchronized void keepAlive() {
+		keepAliveTask = null;
+		if (closed || this.getOpenTransactionId() <= 0) {
+			return;
+		}
+
+		// The transaction is still in use by a streamed response, or has been used since
+		long idle = System.currentTimeMillis() - lastActivity;
+		if (openStream != null || idle < keepAliveDelay) {
+			this.scheduleKeepAlive(openStream != null ? keepAliveDelay : keepAliveDelay - idle);
+			return;
+		}
+
+		HttpPost request = new HttpPost(currentTransactionUrl);
+		try {
+			request.setEntity(this.createRequestEntity(new ArrayList<Neo4jStatement>()));
+			Neo4jResponse response = this.executeHttpRequest(request);
+			if (response.hasErrors()) {
+				this.keepAliveFailure = new SQLException("The transaction could not be kept alive and was rolled back : " + response.displayErrors());
+			}
+		} catch (SQLException e) {
+			this.keepAliveFailure = new SQLException("The transaction could not be kept alive", e);
+		}
+	}
+
+	/**
+	 * Throw the failure of the keep-alive, if the transaction was lost since the last request.
+	 */
+	private synchronized void checkKeepAliveFailure() throws SQLException {
+		if (keepAliveFailure != null) {
+			throw new SQLException(keepAliveFailure.getMessage(), keepAliveFailure.getCause());
+		}
 	}
 
 	/**
 	 * Commit the current transaction.
 	 *
 	 */
-	public void commit() throws SQLException {
-		if (this.getOpenTransactionId() > 0) {
-			HttpPost request = new HttpPost(currentTransactionUrl + "/commit");
+	public synchronized void commit() throws SQLException {
+		this.checkKeepAliveFailure();
+		List<Neo4jResult> results = new ArrayList<>();
+		if (this.getOpenTransactionId() > 0 || !deferredQueries.isEmpty()) {
+			// Without an open transaction, the deferred statements are run by a single request
+			HttpPost request = new HttpPost((this.getOpenTransactionId() > 0 ? currentTransactionUrl : transactionUrl) + "/commit");
+			if (!deferredQueries.isEmpty()) {
+				request.setEntity(this.createRequestEntity(new ArrayList<>(deferredQueries)));
+				deferredQueries.clear();
+			}
 			Neo4jResponse response = this.executeHttpRequest(request);
 			if (response.hasErrors()) {
 				throw new SQLException(response.displayErrors());
 			}
+			results.addAll(deferredResults);
+			results.addAll(response.results);
 			this.currentTransactionUrl = this.transactionUrl;
+			this.cancelKeepAlive();
 		}
+		this.deferredResults.clear();
+		this.committedResults = results;
 	}
 
 	/**
@@ -183,7 +591,10 @@ public class CypherExecutor {
 	 *
 	 * @throws SQLException if there is no transaction to rollback
 	 */
-	public void rollback() throws SQLException {
+	public synchronized void rollback() throws SQLException {
+		this.keepAliveFailure = null;
+		this.deferredQueries.clear();
+		this.deferredResults.clear();
 		if (this.getOpenTransactionId() > 0) {
 			// Prepare the request
 			HttpDelete request = new HttpDelete(currentTransactionUrl);
@@ -192,6 +603,7 @@ public class CypherExecutor {
 				throw new SQLException(response.displayErrors());
 			}
 			this.currentTransactionUrl = this.transactionUrl;
+			this.cancelKeepAlive();
 		}
 	}
 
@@ -214,7 +626,8 @@ public class CypherExecutor {
 			if (autoCommit) {
 				// Check if a transaction is currently opened before
 				// If so, we commit it
-				if (getOpenTransactionId() > 0) {
+				this.checkKeepAliveFailure();
+				if (getOpenTransactionId() > 0 || !deferredQueries.isEmpty()) {
 					this.commit();
 				}
 				this.autoCommit = Boolean.TRUE;
@@ -227,12 +640,16 @@ public class CypherExecutor {
 	}
 
 	/**
-	 * Retrieve the Neo4j version from the server.
+	 * Retrieve the Neo4j version from the server, once for all the executors on the same server.
 	 *
 	 * @return A string that represent the neo4j server version
 	 */
-	public String getServerVersion() {
-		String result = "Unknown";
+	public synchronized String getServerVersion() {
+		String result = this.connectionManager.getServerVersion();
+		if (result != null) {
+			return result;
+		}
+		result = "Unknown";
 
 		// Prepare the headers query
 		HttpGet request = new HttpGet(this.transactionUrl.replace("/db/data/transaction", "/db/manage/server/version"));
@@ -243,11 +660,12 @@ public class CypherExecutor {
 		}
 
 		// Make the request
-		try (CloseableHttpResponse response = http.execute(request)) {
+		try (CloseableHttpResponse response = http.execute(request, context)) {
 			try (InputStream is = response.getEntity().getContent()) {
 				Map body = mapper.readValue(is, Map.class);
 				if (body.get("version") != null) {
 					result = (String) body.get("version");
+					this.connectionManager.setServerVersion(result);
 				}
 			}
 		} catch (Exception e) {
@@ -259,13 +677,19 @@ public class CypherExecutor {
 
 	/**
 	 * Close all thing in this object.
+	 * The http client is not closed, as it would shut down the shared connection pool : the pool is released instead.
 	 */
-
-	public void close() throws SQLException {
-		try {
-			http.close();
-		} catch (IOException e) {
-			throw new SQLException(e);
+	public synchronized void close() throws SQLException {
+		this.cancelKeepAlive();
+		this.keepAliveFailure = null;
+		this.deferredQueries.clear();
+		if (openStream != null) {
+			openStream.release();
+			openStream = null;
+		}
+		if (!closed) {
+			closed = true;
+			connectionManager.release();
 		}
 	}
 
@@ -298,6 +722,17 @@ public class CypherExecutor {
 		return getTransactionId(this.currentTransactionUrl);
 	}
 
+	/**
+	 * Retrieve the number of http exchanges made by this executor, authentication challenges included.
+	 * They are counted each time a request is sent on a connection, so a request retried after a 401 counts twice.
+	 * With preemptive authentication, each request costs exactly one exchange.
+	 *
+	 * @return The number of http requests sent
+	 */
+	public long getHttpExchangeCount() {
+		return exchangeCount.get();
+	}
+
 	/**
 	 * Give the default http client default header for Neo4j API.
 	 *
@@ -311,12 +746,76 @@ public class CypherExecutor {
 		return headers;
 	}
 
+	/**
+	 * Read into memory the rows of the response that is still streamed, if any.
+	 * The server can't serve a new request of the transaction before, and errors sent after the data are only known then.
+	 */
+	private void closeOpenStream() throws SQLException {
+		if (openStream != null) {
+			Neo4jResponse response = openStream;
+			openStream = null;
+			response.buffer();
+			if (response.hasErrors()) {
+				this.resetTransaction();
+			}
+		}
+	}
+
 	/**
 	 * Execute the http client request.
 	 *
 	 * @param request The request to make
 	 */
 	private Neo4jResponse executeHttpRequest(HttpRequestBase request) throws SQLException {
+		return this.executeHttpRequest(request, Boolean.FALSE);
+	}
+
+	/**
+	 * Execute the http client request, and update the transaction state from its response.
+	 *
+	 * @param request The request to make
+	 * @param stream  Do we stream the rows of the first result ?
+	 */
+	private synchronized Neo4jResponse executeHttpRequest(HttpRequestBase request, Boolean stream) throws SQLException {
+		this.closeOpenStream();
+
+		Neo4jResponse result = this.sendHttpRequest(request, context, stream);
+		if (result.hasErrors()) {
+			// The transaction *was* rolled back server-side. Whether a transaction existed or not before, it should
+			// now be considered rolled back on this side as well.
+			this.resetTransaction();
+		} else if (result.location != null) {
+			// Here we reconstruct the location in case of a proxy, but in this case you should redirect write queries to the master.
+			Integer transactionId = this.getTransactionId(result.location);
+			this.currentTransactionUrl = this.transactionUrl + "/" + transactionId;
+		}
+		if (result.isStreaming()) {
+			this.openStream = result;
+		}
+
+		// Keeping the transaction alive from now on
+		this.lastActivity = System.currentTimeMillis();
+		if (result.transactionTimeout > 0) {
+			this.keepAliveDelay = result.transactionTimeout / 2;
+		}
+		if (this.getOpenTransactionId() > 0) {
+			this.scheduleKeepAlive(keepAliveDelay);
+		} else {
+			this.cancelKeepAlive();
+		}
+
+		return result;
+	}
+
+	/**
+	 * Send the http client request.
+	 * This doesn't touch the state of the executor, so it can be used for concurrent requests.
+	 *
+	 * @param request The request to make
+	 * @param context The http context of the request
+	 * @param stream  Do we stream the rows of the first result ?
+	 */
+	private Neo4jResponse sendHttpRequest(HttpRequestBase request, HttpClientContext context, Boolean stream) throws SQLException {
 		Neo4jResponse result = null;
 
 		// Adding default headers to the request
@@ -325,22 +824,33 @@ public class CypherExecutor {
 		}
 
 		// Make the request
-		try (CloseableHttpResponse response = http.execute(request)) {
-			result = new Neo4jResponse(response, mapper);
-			if (result.hasErrors()) {
-				// The transaction *was* rolled back server-side. Whether a transaction existed or not before, it should
-				// now be considered rolled back on this side as well.
-				this.currentTransactionUrl = this.transactionUrl;
-			} else if (result.location != null) {
-				// Here we reconstruct the location in case of a proxy, but in this case you should redirect write queries to the master.
-				Integer transactionId = this.getTransactionId(result.location);
-				this.currentTransactionUrl = this.transactionUrl + "/" + transactionId;
-			}
+		CloseableHttpResponse response = null;
+		try {
+			response = http.execute(request, context);
+			result = new Neo4jResponse(response, mapper, stream, maxResultMemory);
 		} catch (Exception e) {
 			throw new SQLException(e);
+		} finally {
+			// A streamed response is released by its result, once all the rows are read
+			if ((result == null || !result.isStreaming()) && response != null) {
+				try {
+					response.close();
+				} catch (IOException e) {
+					// nothing to do, the connection is just not reused
+				}
+			}
 		}
 
 		return result;
 	}
 
+	/**
+	 * Forget the current transaction, if any, with its deferred statements.
+	 */
+	private void resetTransaction() {
+		this.currentTransactionUrl = this.autoCommit ? this.transactionUrl + "/commit" : this.transactionUrl;
+		this.deferredQueries.clear();
+		this.deferredResults.clear();
+	}
+
 }
@@ -0,0 +1,586 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 17/10/2026
+ */
+package org.neo4j.jdbc.http.driver;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.neo4j.jdbc.utils.SpillFile;
+
+import java.io.IOException;
+import java.sql.SQLDataException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The rows of a Neo4j query result, stored by column.
+ * Integer, float and boolean columns are kept in primitive arrays, with a bitmap of the non null values, so reading
+ * them doesn't box anything. A column that mixes several types falls back to objects.
+ * With a memory limit, the rows that come once it is reached are written to a <code>SpillFile</code>, and can then
+ * only be read in order.
+ */
+public class Neo4jColumnarRows {
+
+	private static final byte NONE    = 0;
+	private static final byte LONG    = 1;
+	private static final byte DOUBLE  = 2;
+	private static final byte BOOLEAN = 3;
+	private static final byte STRING  = 4;
+	private static final byte OBJECT  = 5;
+
+	/**
+	 * List of columns, created as the values come.
+	 */
+	private final List<Column> columns = new ArrayList<>();
+
+	/**
+	 * Number of rows stored in the columns.
+	 */
+	private int size = 0;
+
+	/**
+	 * Approximate memory used by the rows stored in the columns, in bytes.
+	 */
+	private long memory = 0;
+
+	/**
+	 * Memory above which the rows are written to disk, <code>0</code> for no limit.
+	 */
+	private final long memoryLimit;
+
+	/**
+	 * File of the rows that didn't fit in memory, if any.
+	 */
+	private SpillFile spill;
+
+	/**
+	 * The last row read from the spill file, and its index among the spilled rows.
+	 */
+	private Object[] spilledRow;
+	private int      spilledIndex = -1;
+
+	/**
+	 * Constructor without memory limit.
+	 */
+	public Neo4jColumnarRows() {
+		this(0);
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param memoryLimit Memory above which the rows are written to disk, <code>0</code> for no limit
+	 */
+	public Neo4jColumnarRows(long memoryLimit) {
+		this.memoryLimit = memoryLimit;
+	}
+
+	/**
+	 * Number of rows.
+	 */
+	public int size() {
+		return size + (spill != null ? spill.size() : 0);
+	}
+
+	/**
+	 * Have some rows been written to disk ?
+	 */
+	public boolean isSpilled() {
+		return spill != null;
+	}
+
+	/**
+	 * Remove all the rows, the columns keep their type and their storage.
+	 */
+	void clear() {
+		for (Column column : columns) {
+			column.clear();
+		}
+		size = 0;
+		memory = 0;
+		this.close();
+	}
+
+	/**
+	 * Delete the rows written to disk, if any.
+	 */
+	void close() {
+		if (spill != null) {
+			spill.close();
+			spill = null;
+			spilledRow = null;
+			spilledIndex = -1;
+		}
+	}
+
+	/**
+	 * Decode an element of the <code>data</code> array of a result, and add its <code>row</code> values.
+	 *
+	 * @param parser A parser positioned on the start of the element object
+	 * @param mapper Jackson mapper, for the nested maps and lists
+	 */
+	void read(JsonParser parser, ObjectMapper mapper) throws IOException {
+		if (spill != null || (memoryLimit > 0 && memory > memoryLimit)) {
+			this.spill(parser, mapper);
+			return;
+		}
+
+		int row = size++;
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			JsonToken token = parser.nextToken();
+			if ("row".equals(field) && token == JsonToken.START_ARRAY) {
+				int index = 0;
+				while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+					this.read(row, column(index++), token, parser, mapper);
+				}
+			} else {
+				parser.skipChildren();
+			}
+		}
+	}
+
+	/**
+	 * Decode an element of the <code>data</code> array of a result, and write its <code>row</code> values to disk.
+	 */
+	private void spill(JsonParser parser, ObjectMapper mapper) throws IOException {
+		List<Object> values = new ArrayList<>();
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			JsonToken token = parser.nextToken();
+			if ("row".equals(field) && token == JsonToken.START_ARRAY) {
+				while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+					switch (token) {
+						case VALUE_NUMBER_INT:
+							values.add(parser.getNumberValue());
+							break;
+						case VALUE_NUMBER_FLOAT:
+							values.add(parser.getDoubleValue());
+							break;
+						case VALUE_TRUE:
+						case VALUE_FALSE:
+							values.add(token == JsonToken.VALUE_TRUE);
+							break;
+						case VALUE_STRING:
+							values.add(parser.getText());
+							break;
+						case VALUE_NULL:
+							values.add(null);
+							break;
+						default:
+							values.add(mapper.readValue(parser, Object.class));
+					}
+				}
+			} else {
+				parser.skipChildren();
+			}
+		}
+
+		if (spill == null) {
+			spill = new SpillFile();
+		}
+		spill.write(values.toArray());
+	}
+
+	/**
+	 * Decode the current value of the parser into a column.
+	 */
+	private void read(int row, Column column, JsonToken token, JsonParser parser, ObjectMapper mapper) throws IOException {
+		switch (token) {
+			case VALUE_NUMBER_INT:
+				if (parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER) {
+					column.setObject(row, parser.getBigIntegerValue(), size);
+					memory += 64;
+				} else {
+					column.setLong(row, parser.getLongValue(), size);
+					memory += 8;
+				}
+				break;
+			case VALUE_NUMBER_FLOAT:
+				column.setDouble(row, parser.getDoubleValue(), size);
+				memory += 8;
+				break;
+			case VALUE_TRUE:
+			case VALUE_FALSE:
+				column.setBoolean(row, token == JsonToken.VALUE_TRUE, size);
+				memory += 1;
+				break;
+			case VALUE_STRING:
+				String text = parser.getText();
+				column.setString(row, text, size);
+				memory += SpillFile.estimateSize(text);
+				break;
+			case VALUE_NULL:
+				break;
+			default:
+				Object value = mapper.readValue(parser, Object.class);
+				column.setObject(row, value, size);
+				memory += SpillFile.estimateSize(value);
+		}
+	}
+
+	/**
+	 * Add a row of already decoded values.
+	 *
+	 * @param values The values of the row
+	 */
+	void add(List<Object> values) {
+		int row = size++;
+		if (values != null) {
+			for (int index = 0; index < values.size(); index++) {
+				Object value = values.get(index);
+				Column column = column(index);
+				if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+					column.setLong(row, ((Number) value).longValue(), size);
+				} else if (value instanceof Double || value instanceof Float) {
+					column.setDouble(row, ((Number) value).doubleValue(), size);
+				} else if (value instanceof Boolean) {
+					column.setBoolean(row, (Boolean) value, size);
+				} else if (value instanceof String) {
+					column.setString(row, (String) value, size);
+				} else if (value != null) {
+					column.setObject(row, value, size);
+				}
+			}
+		}
+	}
+
+	private Column column(int index) {
+		while (columns.size() <= index) {
+			columns.add(new Column());
+		}
+		return columns.get(index);
+	}
+
+	/**
+	 * Is the value null ?
+	 *
+	 * @param row    Index of the row
+	 * @param column Index of the column, starting at 0
+	 */
+	public boolean isNull(int row, int column) throws SQLException {
+		if (row >= size) {
+			Object[] values = this.spilled(row);
+			return column >= values.length || values[column] == null;
+		}
+		return column >= columns.size() || !columns.get(column).isSet(row);
+	}
+
+	/**
+	 * Retrieve a row written to disk, which must be read in order.
+	 *
+	 * @param row Index of the row
+	 * @return The values of the row
+	 */
+	private Object[] spilled(int row) throws SQLException {
+		int index = row - size;
+		if (index != spilledIndex) {
+			if (index != spilledIndex + 1) {
+				throw new SQLException("Rows written to disk can only be read in order");
+			}
+			try {
+				spilledRow = spill.read();
+			} catch (IOException e) {
+				throw new SQLException("Can't read the rows written to disk", e);
+			}
+			spilledIndex = index;
+		}
+		return spilledRow;
+	}
+
+	/**
+	 * Retrieve a numeric value as a long, <code>0</code> if it's null.
+	 *
+	 * @param row    Index of the row
+	 * @param column Index of the column, starting at 0
+	 * @throws SQLDataException If the value is not a number
+	 */
+	public long getLong(int row, int column) throws SQLException {
+		if (isNull(row, column)) {
+			return 0;
+		} else if (row >= size) {
+			Object value = this.spilled(row)[column];
+			if (value instanceof Number) {
+				return ((Number) value).longValue();
+			}
+			throw new SQLDataException("Value is not a number" + value);
+		}
+		Column values = columns.get(column);
+		switch (values.type) {
+			case LONG:
+				return values.longs[row];
+			case DOUBLE:
+				return (long) values.doubles[row];
+			case OBJECT:
+				if (values.objects[row] instanceof Number) {
+					return ((Number) values.objects[row]).longValue();
+				}
+		}
+		throw new SQLDataException("Value is not a number" + getObject(row, column));
+	}
+
+	/**
+	 * Retrieve a numeric value as a double, <code>0</code> if it's null.
+	 *
+	 * @param row    Index of the row
+	 * @param column Index of the column, starting at 0
+	 * @throws SQLDataException If the value is not a number
+	 */
+	public double getDouble(int row, int column) throws SQLException {
+		if (isNull(row, column)) {
+			return 0;
+		} else if (row >= size) {
+			Object value = this.spilled(row)[column];
+			if (value instanceof Number) {
+				return ((Number) value).doubleValue();
+			}
+			throw new SQLDataException("Value is not a number" + value);
+		}
+		Column values = columns.get(column);
+		switch (values.type) {
+			case LONG:
+				return values.longs[row];
+			case DOUBLE:
+				return values.doubles[row];
+			case OBJECT:
+				if (values.objects[row] instanceof Number) {
+					return ((Number) values.objects[row]).doubleValue();
+				}
+		}
+		throw new SQLDataException("Value is not a number" + getObject(row, column));
+	}
+
+	/**
+	 * Retrieve a boolean value, <code>false</code> if it's null.
+	 *
+	 * @param row    Index of the row
+	 * @param column Index of the column, starting at 0
+	 * @throws SQLDataException If the value is not a boolean
+	 */
+	public boolean getBoolean(int row, int column) throws SQLException {
+		if (isNull(row, column)) {
+			return false;
+		} else if (row >= size) {
+			Object value = this.spilled(row)[column];
+			if (value instanceof Boolean) {
+				return (Boolean) value;
+			}
+			throw new SQLDataException("Value is not a boolean" + value);
+		}
+		Column values = columns.get(column);
+		if (values.type == BOOLEAN) {
+			return values.booleans[row];
+		} else if (values.type == OBJECT && values.objects[row] instanceof Boolean) {
+			return (Boolean) values.objects[row];
+		}
+		throw new SQLDataException("Value is not a boolean" + getObject(row, column));
+	}
+
+	/**
+	 * Retrieve a value as an object, integers are boxed into an <code>Integer</code> when they fit, like Jackson does.
+	 *
+	 * @param row    Index of the row
+	 * @param column Index of the column, starting at 0
+	 */
+	public Object getObject(int row, int column) throws SQLException {
+		if (isNull(row, column)) {
+			return null;
+		} else if (row >= size) {
+			return this.spilled(row)[column];
+		}
+		return columns.get(column).get(row);
+	}
+
+	/**
+	 * Retrieve all the values of a row as objects.
+	 *
+	 * @param row Index of the row
+	 */
+	public List<Object> getRow(int row) throws SQLException {
+		if (row >= size) {
+			return Arrays.asList(this.spilled(row));
+		}
+		List<Object> values = new ArrayList<>(columns.size());
+		for (int column = 0; column < columns.size(); column++) {
+			values.add(getObject(row, column));
+		}
+		return values;
+	}
+
+	/**
+	 * A column, whose storage depends on the type of its values.
+	 */
+	private static class Column {
+
+		private byte      type = NONE;
+		private long[]    present = new long[1];
+		private long[]    longs;
+		private double[]  doubles;
+		private boolean[] booleans;
+		private String[]  strings;
+		private Object[]  objects;
+
+		boolean isSet(int row) {
+			return (row >> 6) < present.length && (present[row >> 6] & (1L << row)) != 0;
+		}
+
+		void clear() {
+			Arrays.fill(present, 0L);
+		}
+
+		/**
+		 * Mark the value as set, and make sure the storage of the column has room for it.
+		 *
+		 * @param row  Index of the row
+		 * @param type Type of the value
+		 * @param size Number of rows of the result
+		 * @return <code>true</code> if the value can be stored in the primitive array of the column
+		 */
+		private boolean prepare(int row, byte type, int size) {
+			if (this.type == NONE) {
+				this.type = type;
+				this.allocate(Math.max(size, 16));
+			} else if (this.type != type && this.type != OBJECT) {
+				this.toObjects(size);
+			}
+			if ((row >> 6) >= present.length) {
+				present = Arrays.copyOf(present, Math.max(present.length * 2, (row >> 6) + 1));
+			}
+			present[row >> 6] |= 1L << row;
+			if (row >= capacity()) {
+				this.allocate(Math.max(capacity() * 2, row + 1));
+			}
+			return this.type == type;
+		}
+
+		private int capacity() {
+			switch (type) {
+				case LONG:
+					return longs.length;
+				case DOUBLE:
+					return doubles.length;
+				case BOOLEAN:
+					return booleans.length;
+				case STRING:
+					return strings.length;
+				default:
+					return objects.length;
+			}
+		}
+
+		/**
+		 * Create or grow the array of the column type.
+		 */
+		private void allocate(int capacity) {
+			switch (type) {
+				case LONG:
+					longs = longs == null ? new long[capacity] : Arrays.copyOf(longs, capacity);
+					break;
+				case DOUBLE:
+					doubles = doubles == null ? new double[capacity] : Arrays.copyOf(doubles, capacity);
+					break;
+				case BOOLEAN:
+					booleans = booleans == null ? new boolean[capacity] : Arrays.copyOf(booleans, capacity);
+					break;
+				case STRING:
+					strings = strings == null ? new String[capacity] : Arrays.copyOf(strings, capacity);
+					break;
+				default:
+					objects = objects == null ? new Object[capacity] : Arrays.copyOf(objects, capacity);
+			}
+		}
+
+		/**
+		 * Move the values of the column into an object array, when it receives a value of another type.
+		 */
+		private void toObjects(int size) {
+			Object[] boxed = new Object[Math.max(capacity(), size)];
+			for (int row = 0; row < boxed.length; row++) {
+				if (isSet(row)) {
+					boxed[row] = get(row);
+				}
+			}
+			longs = null;
+			doubles = null;
+			booleans = null;
+			strings = null;
+			objects = boxed;
+			type = OBJECT;
+		}
+
+		Object get(int row) {
+			switch (type) {
+				case LONG:
+					long value = longs[row];
+					if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+						return (int) value;
+					}
+					return value;
+				case DOUBLE:
+					return doubles[row];
+				case BOOLEAN:
+					return booleans[row];
+				case STRING:
+					return strings[row];
+				default:
+					return objects[row];
+			}
+		}
+
+		void setLong(int row, long value, int size) {
+			if (prepare(row, LONG, size)) {
+				longs[row] = value;
+			} else {
+				objects[row] = value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE ? (Object) (int) value : (Object) value;
+			}
+		}
+
+		void setDouble(int row, double value, int size) {
+			if (prepare(row, DOUBLE, size)) {
+				doubles[row] = value;
+			} else {
+				objects[row] = value;
+			}
+		}
+
+		void setBoolean(int row, boolean value, int size) {
+			if (prepare(row, BOOLEAN, size)) {
+				booleans[row] = value;
+			} else {
+				objects[row] = value;
+			}
+		}
+
+		void setString(int row, String value, int size) {
+			if (prepare(row, STRING, size)) {
+				strings[row] = value;
+			} else {
+				objects[row] = value;
+			}
+		}
+
+		void setObject(int row, Object value, int size) {
+			prepare(row, OBJECT, size);
+			objects[row] = value;
+		}
+	}
+}
@@ -19,16 +19,23 @@
  */
 package org.neo4j.jdbc.http.driver;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
+import org.apache.http.client.utils.DateUtils;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPInputStream;
 
 /**
  * A POJO that store a Neo4j response from the cypher endpoint.
@@ -55,6 +62,31 @@ public class Neo4jResponse {
 	 */
 	public List<SQLException> errors;
 
+	/**
+	 * Time in milliseconds before the open transaction expires on the server, <code>-1</code> if unknown.
+	 */
+	public long transactionTimeout = -1;
+
+	/**
+	 * Date of the response on the server, to compute the transaction timeout whatever the clock of the client.
+	 */
+	private Date date;
+
+	/**
+	 * Jackson object mapper.
+	 */
+	private final ObjectMapper mapper;
+
+	/**
+	 * Body of the response, kept open while a result is streamed.
+	 */
+	private InputStream content;
+
+	/**
+	 * Memory above which the rows of a result are written to disk, <code>0</code> for no limit.
+	 */
+	private final long maxResultMemory;
+
 	/**
 	 * Construct the object directly from the HttpResponse.
 	 *
@@ -62,6 +94,34 @@ public class Neo4jResponse {
 	 * @param mapper   Jackson object mapper
 	 */
 	public Neo4jResponse(HttpResponse response, ObjectMapper mapper) throws SQLException {
+		this(response, mapper, Boolean.FALSE);
+	}
+
+	/**
+	 * Construct the object directly from the HttpResponse.
+	 * In stream mode, the body is only read up to the rows of the first result, the remaining rows are decoded
+	 * one at a time by the result itself, and the body is released once they are all read.
+	 *
+	 * @param response Http response
+	 * @param mapper   Jackson object mapper
+	 * @param stream   Do we stream the rows of the first result ?
+	 */
+	public Neo4jResponse(HttpResponse response, ObjectMapper mapper, Boolean stream) throws SQLException {
+		this(response, mapper, stream, 0);
+	}
+
+	/**
+	 * Construct the object directly from the HttpResponse, with a memory limit for the rows of each result.
+	 *
+	 * @param response        Http response
+	 * @param mapper          Jackson object mapper
+	 * @param stream          Do we stream the rows of the first result ?
+	 * @param maxResultMemory Memory above which the rows of a result are written to disk, <code>0</code> for no limit
+	 */
+	public Neo4jResponse(HttpResponse response, ObjectMapper mapper, Boolean stream, long maxResultMemory) throws SQLException {
+		this.mapper = mapper;
+		this.maxResultMemory = maxResultMemory;
+
 		// Parse response headers
 		if (response.getStatusLine() != null) {
 
@@ -73,36 +133,33 @@ public class Neo4jResponse {
 				this.location = response.getFirstHeader("Location").getValue();
 			}
 
+			Header date = response.getFirstHeader("Date");
+			if (date != null) {
+				this.date = DateUtils.parseDate(date.getValue());
+			}
+
 			// Parsing the body
 			HttpEntity json = response.getEntity();
 			if (json != null) {
-				try (InputStream is = json.getContent()) {
-					Map body = mapper.readValue(is, Map.class);
-
-					// Error parsing
-					this.errors = new ArrayList<>();
-					for (Map<String, String> error : (List<Map<String, String>>) body.get("errors")) {
-						String message = "";
-						String code = "";
-						if(error.get("message") != null) {
-							message = error.get("message");
-						}
-						if(error.get("code") != null) {
-							code = error.get("code");
-						}
-						errors.add(new SQLException(message, code));
+				this.errors = new ArrayList<>();
+				this.results = new ArrayList<>();
+				try {
+					this.content = json.getContent();
+					// The http client removes this header once it has decoded the body itself
+					Header encoding = response.getFirstHeader("Content-Encoding");
+					if (encoding != null && "gzip".equalsIgnoreCase(encoding.getValue())) {
+						this.content = new GZIPInputStream(content);
 					}
-
-					// Data parsing
-					this.results = new ArrayList<>();
-					if (body.containsKey("results")) {
-						for (Map map : (List<Map>) body.get("results")) {
-							results.add(new Neo4jResult(map));
-						}
+					JsonParser parser = mapper.getFactory().createParser(content);
+					if (parser.nextToken() != JsonToken.START_OBJECT) {
+						throw new SQLException("Response body is not a JSON object");
+					}
+					if (!this.parseBody(parser, stream)) {
+						this.release();
 					}
-
 				} catch (Exception e) {
-					throw new SQLException(e);
+					this.release();
+					throw (e instanceof SQLException) ? (SQLException) e : new SQLException(e);
 				}
 			}
 
@@ -111,6 +168,134 @@ public class Neo4jResponse {
 		}
 	}
 
+	/**
+	 * Parse the body from the current position of the parser, until its end or the rows of a streamed result.
+	 *
+	 * @param parser A parser positioned inside the root object
+	 * @param stream Do we stop on the rows of a result to stream them ?
+	 * @return <code>true</code> if we stopped on a streamed result, <code>false</code> if the whole body has been read
+	 */
+	private boolean parseBody(JsonParser parser, Boolean stream) throws IOException, SQLException {
+		JsonToken token;
+		while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			parser.nextToken();
+			if ("results".equals(field)) {
+				if (this.parseResults(parser, stream)) {
+					return true;
+				}
+			} else if ("transaction".equals(field)) {
+				this.parseTransaction((Map<String, Object>) mapper.readValue(parser, Map.class));
+			} else if ("errors".equals(field)) {
+				for (Map<String, String> error : (List<Map<String, String>>) mapper.readValue(parser, List.class)) {
+					String message = "";
+					String code = "";
+					if (error.get("message") != null) {
+						message = error.get("message");
+					}
+					if (error.get("code") != null) {
+						code = error.get("code");
+					}
+					errors.add(new SQLException(message, code));
+				}
+			} else {
+				parser.skipChildren();
+			}
+		}
+		if (token != JsonToken.END_OBJECT) {
+			throw new SQLException("Unexpected end of the response body");
+		}
+		return false;
+	}
+
+	/**
+	 * Parse the <code>transaction</code> object, to know when the transaction expires.
+	 *
+	 * @param transaction The transaction object
+	 */
+	private void parseTransaction(Map<String, Object> transaction) {
+		Date expires = null;
+		if (transaction != null && transaction.get("expires") instanceof String) {
+			expires = DateUtils.parseDate((String) transaction.get("expires"));
+		}
+		if (expires != null) {
+			long now = (this.date != null) ? this.date.getTime() : System.currentTimeMillis();
+			this.transactionTimeout = Math.max(expires.getTime() - now, 0);
+		}
+	}
+
+	/**
+	 * Parse the elements of the <code>results</code> array.
+	 *
+	 * @param parser A parser positioned inside the results array
+	 * @param stream Do we stop on the rows of the next result to stream them ?
+	 * @return <code>true</code> if we stopped on a streamed result
+	 */
+	private boolean parseResults(JsonParser parser, Boolean stream) throws IOException, SQLException {
+		JsonToken token;
+		while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+			if (stream) {
+				Neo4jStreamingResult result = new Neo4jStreamingResult(this, parser, mapper, maxResultMemory);
+				results.add(result);
+				if (result.isStreaming()) {
+					return true;
+				}
+			} else {
+				results.add(new Neo4jResult(parser, mapper, maxResultMemory));
+			}
+		}
+		if (token != JsonToken.END_ARRAY) {
+			throw new SQLException("Unexpected end of the response results");
+		}
+		return false;
+	}
+
+	/**
+	 * Parse the end of the body, once all the rows of the streamed result have been read.
+	 *
+	 * @param parser A parser positioned inside the results array, just after the streamed result
+	 */
+	void resume(JsonParser parser) throws IOException, SQLException {
+		try {
+			this.parseResults(parser, Boolean.FALSE);
+			this.parseBody(parser, Boolean.FALSE);
+		} finally {
+			this.release();
+		}
+	}
+
+	/**
+	 * Release the body of the response (and the underlying connection).
+	 */
+	void release() {
+		if (content != null) {
+			try {
+				content.close();
+			} catch (IOException e) {
+				// nothing to do, the connection is just not reused
+			}
+			content = null;
+		}
+	}
+
+	/**
+	 * Is this response still streaming a result ?
+	 */
+	public boolean isStreaming() {
+		return content != null;
+	}
+
+	/**
+	 * Read all the rows that are still streamed into memory, so the body is released.
+	 */
+	public void buffer() throws SQLException {
+		for (Neo4jResult result : results) {
+			if (result instanceof Neo4jStreamingResult) {
+				((Neo4jStreamingResult) result).buffer();
+			}
+		}
+	}
+
 	/**
 	 * Is this response has errors ?
 	 */
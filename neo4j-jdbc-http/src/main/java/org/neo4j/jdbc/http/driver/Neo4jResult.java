@@ -19,6 +19,13 @@
  */
 package org.neo4j.jdbc.http.driver;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -33,15 +40,20 @@ public class Neo4jResult {
 	public List<String> columns;
 
 	/**
-	 * List of data row.
+	 * Data rows, stored by column.
 	 */
-	public List<Map> rows;
+	public Neo4jColumnarRows rows;
 
 	/**
 	 * List fof stats
 	 */
 	public Map<String, Object> stats;
 
+	/**
+	 * Index of the current row, <code>-1</code> before the first one.
+	 */
+	protected int cursor = -1;
+
 	/**
 	 * Constructor.
 	 *
@@ -49,10 +61,147 @@ public class Neo4jResult {
 	 */
 	public Neo4jResult(Map map) {
 		this.columns = (List<String>) map.get("columns");
-		this.rows = (List<Map>) map.get("data");
+		this.rows = new Neo4jColumnarRows();
+		if (map.get("data") != null) {
+			for (Map row : (List<Map>) map.get("data")) {
+				this.rows.add((List<Object>) row.get("row"));
+			}
+		}
 
 		if (map.containsKey("stats")) {
 			this.stats = (Map<String, Object>) map.get("stats");
 		}
 	}
+
+	/**
+	 * Constructor that decodes the rows straight from the JSON tokens, without an intermediate map.
+	 *
+	 * @param parser      A parser positioned on the start of the result object
+	 * @param mapper      Jackson object mapper
+	 * @param memoryLimit Memory above which the rows are written to disk, <code>0</code> for no limit
+	 */
+	Neo4jResult(JsonParser parser, ObjectMapper mapper, long memoryLimit) throws IOException {
+		this.columns = new ArrayList<>();
+		this.rows = new Neo4jColumnarRows(memoryLimit);
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			JsonToken token = parser.nextToken();
+			if ("data".equals(field) && token == JsonToken.START_ARRAY) {
+				while (parser.nextToken() == JsonToken.START_OBJECT) {
+					this.rows.read(parser, mapper);
+				}
+			} else {
+				this.readField(field, parser, mapper);
+			}
+		}
+	}
+
+	/**
+	 * Constructor for a result whose rows are not known yet.
+	 *
+	 * @param memoryLimit Memory above which the rows are written to disk, <code>0</code> for no limit
+	 */
+	protected Neo4jResult(long memoryLimit) {
+		this.rows = new Neo4jColumnarRows(memoryLimit);
+	}
+
+	/**
+	 * Read a field of the result object, other than its rows.
+	 */
+	protected void readField(String field, JsonParser parser, ObjectMapper mapper) throws IOException {
+		if ("columns".equals(field)) {
+			this.columns = mapper.readValue(parser, List.class);
+		} else if ("stats".equals(field)) {
+			this.stats = mapper.readValue(parser, Map.class);
+		} else {
+			parser.skipChildren();
+		}
+	}
+
+	/**
+	 * Move to the next row.
+	 *
+	 * @return <code>false</code> if there is no more row
+	 */
+	public boolean next() throws SQLException {
+		if (rows != null && cursor + 1 < rows.size()) {
+			cursor++;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Retrieve the values of the next row.
+	 *
+	 * @return The list of values of the row, or <code>null</code> if there is no more row
+	 */
+	public List<Object> nextRow() throws SQLException {
+		if (this.next()) {
+			return rows.getRow(cursor);
+		}
+		return null;
+	}
+
+	/**
+	 * Is the value of the current row null ?
+	 *
+	 * @param column Index of the column, starting at 0
+	 */
+	public boolean isNull(int column) throws SQLException {
+		return rows.isNull(cursor, column);
+	}
+
+	/**
+	 * Retrieve a numeric value of the current row, <code>0</code> if it's null.
+	 *
+	 * @param column Index of the column, starting at 0
+	 */
+	public long getLong(int column) throws SQLException {
+		return rows.getLong(cursor, column);
+	}
+
+	/**
+	 * Retrieve a numeric value of the current row, <code>0</code> if it's null.
+	 *
+	 * @param column Index of the column, starting at 0
+	 */
+	public double getDouble(int column) throws SQLException {
+		return rows.getDouble(cursor, column);
+	}
+
+	/**
+	 * Retrieve a boolean value of the current row, <code>false</code> if it's null.
+	 *
+	 * @param column Index of the column, starting at 0
+	 */
+	public boolean getBoolean(int column) throws SQLException {
+		return rows.getBoolean(cursor, column);
+	}
+
+	/**
+	 * Retrieve a value of the current row.
+	 *
+	 * @param column Index of the column, starting at 0
+	 */
+	public Object getObject(int column) throws SQLException {
+		return rows.getObject(cursor, column);
+	}
+
+	/**
+	 * Are the rows of this result still read from the server ?
+	 * If so, the stats are only available once all the rows have been read.
+	 */
+	public boolean isStreaming() {
+		return false;
+	}
+
+	/**
+	 * Close the result, and release what it still holds.
+	 */
+	public void close() throws SQLException {
+		if (rows != null) {
+			rows.close();
+		}
+	}
 }
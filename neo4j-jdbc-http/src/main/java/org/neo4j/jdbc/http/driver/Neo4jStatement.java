@@ -19,9 +19,12 @@
  */
 package org.neo4j.jdbc.http.driver;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.List;
@@ -47,6 +50,12 @@ public class Neo4jStatement {
 	 */
 	public final Boolean includeStats;
 
+	/**
+	 * Formats of the result data (ie. <code>row</code>), the server default is used if <code>null</code>.
+	 */
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	public final List<String> resultDataContents;
+
 	/**
 	 * Escape method for cypher queries.
 	 *
@@ -64,16 +73,29 @@ public class Neo4jStatement {
 	 * @return The JSON string that correspond to the body of the API call
 	 */
 	public static String toJson(List<Neo4jStatement> queries, ObjectMapper mapper) throws SQLException {
-		StringBuilder sb = new StringBuilder();
+		StringWriter writer = new StringWriter();
 		try {
-			sb.append("{\"statements\":");
-			sb.append(mapper.writeValueAsString(queries));
-			sb.append("}");
-
-		} catch (JsonProcessingException e) {
+			toJson(queries, mapper, mapper.getFactory().createGenerator(writer));
+		} catch (IOException e) {
 			throw new SQLException("Can't convert Cypher statement(s) into JSON");
 		}
-		return sb.toString();
+		return writer.toString();
+	}
+
+	/**
+	 * Write the list of query as a JSON compatible with Neo4j endpoint.
+	 * The generator is flushed but not closed.
+	 *
+	 * @param queries   List of cypher queries.
+	 * @param mapper    Jackson object mapper
+	 * @param generator The generator to write to
+	 */
+	public static void toJson(List<Neo4jStatement> queries, ObjectMapper mapper, JsonGenerator generator) throws IOException {
+		generator.writeStartObject();
+		generator.writeFieldName("statements");
+		mapper.writeValue(generator, queries);
+		generator.writeEndObject();
+		generator.flush();
 	}
 
 	/**
@@ -84,6 +106,19 @@ public class Neo4jStatement {
 	 * @param includeStats Do we need to include stats
 	 */
 	public Neo4jStatement(String statement, Map<String, Object> parameters, Boolean includeStats) throws SQLException {
+		this(statement, parameters, includeStats, null);
+	}
+
+	/**
+	 * Constructor with the formats of the result data.
+	 *
+	 * @param statement          Cypher query
+	 * @param parameters         List of named params for the cypher query
+	 * @param includeStats       Do we need to include stats
+	 * @param resultDataContents Formats of the result data, or <code>null</code> for the server default
+	 */
+	public Neo4jStatement(String statement, Map<String, Object> parameters, Boolean includeStats, List<String> resultDataContents) throws SQLException {
+		this.resultDataContents = resultDataContents;
 		if (statement != null && !statement.equals("")) {
 			this.statement = statement;
 		} else {
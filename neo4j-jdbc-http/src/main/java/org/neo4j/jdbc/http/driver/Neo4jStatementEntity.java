@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 17/10/2026
+ */
+package org.neo4j.jdbc.http.driver;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ContentType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * An http entity that serializes a list of cypher queries directly onto the request stream.
+ * The body is never held in memory, and is sent with chunked transfer encoding.
+ */
+public class Neo4jStatementEntity extends AbstractHttpEntity {
+
+	/**
+	 * List of cypher queries.
+	 */
+	private final List<Neo4jStatement> queries;
+
+	/**
+	 * Jackson mapper object.
+	 */
+	private final ObjectMapper mapper;
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param queries List of cypher queries
+	 * @param mapper  Jackson object mapper
+	 */
+	public Neo4jStatementEntity(List<Neo4jStatement> queries, ObjectMapper mapper) {
+		this.queries = queries;
+		this.mapper = mapper;
+		setContentType(ContentType.APPLICATION_JSON.toString());
+		setChunked(true);
+	}
+
+	/**
+	 * The body can be written again (ie. after an authentication challenge).
+	 */
+	@Override public boolean isRepeatable() {
+		return true;
+	}
+
+	@Override public long getContentLength() {
+		return -1;
+	}
+
+	/**
+	 * Only there for the <code>HttpEntity</code> contract, the body is built in memory.
+	 */
+	@Override public InputStream getContent() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		writeTo(out);
+		return new ByteArrayInputStream(out.toByteArray());
+	}
+
+	@Override public void writeTo(OutputStream out) throws IOException {
+		Neo4jStatement.toJson(queries, mapper, mapper.getFactory().createGenerator(out, JsonEncoding.UTF8));
+	}
+
+	@Override public boolean isStreaming() {
+		return false;
+	}
+
+	/**
+	 * Serialize the body into memory, unless it is bigger than a limit.
+	 *
+	 * @param limit Max size of the body in bytes
+	 * @return The body, or <code>null</code> if it is bigger than the limit
+	 */
+	public byte[] toByteArray(int limit) throws IOException {
+		BoundedOutputStream out = new BoundedOutputStream(limit);
+		try {
+			writeTo(out);
+		} catch (LimitReachedException e) {
+			return null;
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * Thrown when the body doesn't fit into a BoundedOutputStream.
+	 */
+	private static class LimitReachedException extends IOException {
+	}
+
+	/**
+	 * An in-memory output stream that fails once a limit is reached.
+	 */
+	private static class BoundedOutputStream extends OutputStream {
+
+		private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		private final int                   limit;
+
+		BoundedOutputStream(int limit) {
+			this.limit = limit;
+		}
+
+		@Override public void write(int b) throws IOException {
+			checkLimit(1);
+			buffer.write(b);
+		}
+
+		@Override public void write(byte[] b, int off, int len) throws IOException {
+			checkLimit(len);
+			buffer.write(b, off, len);
+		}
+
+		private void checkLimit(int len) throws LimitReachedException {
+			if (buffer.size() + len > limit) {
+				throw new LimitReachedException();
+			}
+		}
+
+		byte[] toByteArray() {
+			return buffer.toByteArray();
+		}
+	}
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 17/10/2026
+ */
+package org.neo4j.jdbc.http.driver;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+
+/**
+ * A Neo4j query result whose rows are decoded one at a time from the response body.
+ */
+class Neo4jStreamingResult extends Neo4jResult {
+
+	/**
+	 * The response that contains this result.
+	 */
+	private final Neo4jResponse response;
+
+	/**
+	 * Jackson mapper object.
+	 */
+	private final ObjectMapper mapper;
+
+	/**
+	 * Parser positioned inside the data array, <code>null</code> once all the rows have been read.
+	 */
+	private JsonParser parser;
+
+	/**
+	 * Constructor.
+	 * Read the result object until its data array.
+	 *
+	 * @param response    The response that contains this result
+	 * @param parser      A parser positioned on the start of the result object
+	 * @param mapper      Jackson object mapper
+	 * @param memoryLimit Memory above which the buffered rows are written to disk, <code>0</code> for no limit
+	 */
+	Neo4jStreamingResult(Neo4jResponse response, JsonParser parser, ObjectMapper mapper, long memoryLimit) throws IOException, SQLException {
+		super(memoryLimit);
+		this.response = response;
+		this.mapper = mapper;
+		this.columns = new ArrayList<>();
+
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			if (parser.nextToken() == JsonToken.START_ARRAY && "data".equals(field)) {
+				this.parser = parser;
+				return;
+			}
+			this.readField(field, parser, mapper);
+		}
+	}
+
+	/**
+	 * Read what follows the rows : the end of the result object, then the end of the response.
+	 */
+	private void finish() throws IOException, SQLException {
+		JsonParser parser = this.parser;
+		this.parser = null;
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			parser.nextToken();
+			this.readField(field, parser, mapper);
+		}
+		response.resume(parser);
+	}
+
+	@Override public boolean next() throws SQLException {
+		if (parser != null) {
+			try {
+				// Only the current row is kept in memory
+				rows.clear();
+				cursor = -1;
+				if (parser.nextToken() == JsonToken.START_OBJECT) {
+					rows.read(parser, mapper);
+					cursor = 0;
+					return true;
+				}
+				this.finish();
+			} catch (IOException e) {
+				this.abort();
+				throw new SQLException(e);
+			}
+		}
+
+		boolean hasNext = super.next();
+		// Errors are sent by the server after the data
+		if (!hasNext && response.hasErrors()) {
+			throw new SQLException(response.displayErrors());
+		}
+		return hasNext;
+	}
+
+	@Override public boolean isStreaming() {
+		return parser != null;
+	}
+
+	/**
+	 * Read all the remaining rows into memory.
+	 */
+	void buffer() throws SQLException {
+		if (parser != null) {
+			try {
+				while (parser.nextToken() == JsonToken.START_OBJECT) {
+					rows.read(parser, mapper);
+				}
+				this.finish();
+			} catch (IOException e) {
+				this.abort();
+				throw new SQLException(e);
+			}
+		}
+	}
+
+	@Override public void close() throws SQLException {
+		if (parser != null) {
+			try {
+				while (parser.nextToken() == JsonToken.START_OBJECT) {
+					parser.skipChildren();
+				}
+				this.finish();
+			} catch (IOException e) {
+				this.abort();
+				throw new SQLException(e);
+			}
+		}
+		super.close();
+		this.rows = null;
+	}
+
+	/**
+	 * Stop reading the response after a failure.
+	 */
+	private void abort() {
+		this.parser = null;
+		response.release();
+	}
+}
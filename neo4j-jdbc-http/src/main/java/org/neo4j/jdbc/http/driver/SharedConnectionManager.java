@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 17/10/2026
+ */
+package org.neo4j.jdbc.http.driver;
+
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A pool of keep-alive http connections, shared by all the executors that target the same server.
+ * The pool is reference counted : it is shut down when the last executor that uses it is closed.
+ * <br>
+ * The pool settings are read from the properties of the first connection to the server :
+ * <ul>
+ * <li><code>maxTotalConnections</code> : max number of connections in the pool (default 100)</li>
+ * <li><code>maxConnectionsPerRoute</code> : max number of connections per route (default 100)</li>
+ * <li><code>idleConnectionTimeout</code> : milliseconds after which an idle connection is evicted (default 30000, 0 to disable)</li>
+ * <li><code>validateAfterInactivity</code> : milliseconds of inactivity after which a connection is not reused anymore,
+ * instead of checking for a stale connection before each request (default 0, the stale check is always made).
+ * The idle connections are evicted every tenth of it, before reaching it</li>
+ * </ul>
+ */
+class SharedConnectionManager {
+
+	/**
+	 * Shared pools, by server.
+	 */
+	private static final Map<String, SharedConnectionManager> MANAGERS = new HashMap<>();
+
+	/**
+	 * Thread that evicts idle connections of all the pools.
+	 */
+	private static ScheduledExecutorService evictor;
+
+	/**
+	 * The pooling connection manager.
+	 */
+	final PoolingHttpClientConnectionManager manager;
+
+	/**
+	 * Do we need to check that a connection is not stale before each request ?
+	 */
+	final boolean staleConnectionCheck;
+
+	/**
+	 * Milliseconds after which an idle connection is evicted, and between two evictions (0 if there is no eviction).
+	 */
+	final long maxIdleTime;
+	final long evictionPeriod;
+
+	/**
+	 * Key of this pool into the shared pools.
+	 */
+	private final String key;
+
+	/**
+	 * Number of executors that use this pool.
+	 */
+	private int references = 0;
+
+	/**
+	 * Version of the server, fetched by the first executor that needs it.
+	 */
+	private volatile String serverVersion;
+
+	/**
+	 * Scheduled eviction of idle connections, if any.
+	 */
+	private ScheduledFuture<?> eviction;
+
+	private SharedConnectionManager(String key, Properties properties) {
+		this.key = key;
+		this.manager = new PoolingHttpClientConnectionManager();
+		this.manager.setMaxTotal(Integer.parseInt(properties.getProperty("maxtotalconnections", "100")));
+		this.manager.setDefaultMaxPerRoute(Integer.parseInt(properties.getProperty("maxconnectionsperroute", "100")));
+
+		long idleTimeout = Long.parseLong(properties.getProperty("idleconnectiontimeout", "30000"));
+		long validateAfterInactivity = Long.parseLong(properties.getProperty("validateafterinactivity", "0"));
+		this.staleConnectionCheck = validateAfterInactivity <= 0;
+		long period = Math.max(idleTimeout / 2, 1);
+		if (validateAfterInactivity > 0) {
+			// Without the stale check, a connection must be evicted before being idle for validateAfterInactivity :
+			// the ones idle for longer than validateAfterInactivity - period at an eviction are evicted
+			period = Math.max(validateAfterInactivity / 10, 1);
+			long maxIdleTime = validateAfterInactivity - period;
+			if (idleTimeout <= 0 || maxIdleTime < idleTimeout) {
+				idleTimeout = maxIdleTime;
+			}
+		} else if (idleTimeout <= 0) {
+			period = 0;
+		}
+		this.maxIdleTime = idleTimeout;
+		this.evictionPeriod = period;
+		if (period > 0) {
+			this.eviction = getEvictor().scheduleAtFixedRate(new IdleConnectionEviction(manager, idleTimeout), period, period, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Retrieve the pool of a server, and create it if needed.
+	 *
+	 * @param host       Hostname of the Neo4j instance.
+	 * @param port       HTTP port of the Neo4j instance.
+	 * @param secure     If the connection used SSL.
+	 * @param properties Properties of the url connection.
+	 * @return The shared pool, that must be released once not used anymore
+	 */
+	static synchronized SharedConnectionManager acquire(String host, Integer port, Boolean secure, Properties properties) {
+		String key = (secure ? "https" : "http") + "://" + host + ":" + port;
+		SharedConnectionManager shared = MANAGERS.get(key);
+		if (shared == null) {
+			shared = new SharedConnectionManager(key, properties);
+			MANAGERS.put(key, shared);
+		}
+		shared.references++;
+		return shared;
+	}
+
+	/**
+	 * Release this pool, and shut it down if no executor uses it anymore.
+	 */
+	void release() {
+		synchronized (SharedConnectionManager.class) {
+			if (references > 0 && --references == 0) {
+				MANAGERS.remove(key);
+				if (eviction != null) {
+					eviction.cancel(false);
+				}
+				manager.shutdown();
+			}
+		}
+	}
+
+	String getServerVersion() {
+		return serverVersion;
+	}
+
+	void setServerVersion(String serverVersion) {
+		this.serverVersion = serverVersion;
+	}
+
+	/**
+	 * Number of executors that use this pool.
+	 */
+	int getReferences() {
+		synchronized (SharedConnectionManager.class) {
+			return references;
+		}
+	}
+
+	private static ScheduledExecutorService getEvictor() {
+		if (evictor == null) {
+			evictor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+				@Override public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "neo4j-jdbc-http-eviction");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+		return evictor;
+	}
+
+	/**
+	 * Close the expired connections and the ones that have been idle for too long.
+	 */
+	private static class IdleConnectionEviction implements Runnable {
+
+		private final PoolingHttpClientConnectionManager manager;
+		private final long                               idleTimeout;
+
+		IdleConnectionEviction(PoolingHttpClientConnectionManager manager, long idleTimeout) {
+			this.manager = manager;
+			this.idleTimeout = idleTimeout;
+		}
+
+		@Override public void run() {
+			manager.closeExpiredConnections();
+			manager.closeIdleConnections(idleTimeout, TimeUnit.MILLISECONDS);
+		}
+	}
+}
@@ -23,9 +23,14 @@ package org.neo4j.jdbc.http;
 
 import org.junit.Ignore;
 import org.junit.Test;
+import org.neo4j.jdbc.http.driver.Neo4jResponse;
 import org.neo4j.jdbc.http.test.Neo4jHttpIT;
 
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Future;
 
 import static org.junit.Assert.*;
 
@@ -48,6 +53,54 @@ public class HttpConnectionIT extends Neo4jHttpIT {
 		reader.close();
 	}
 
+	@Test public void executeQueryAsyncShouldWork() throws Exception {
+		Connection connection = DriverManager.getConnection(getJDBCUrl());
+		HttpConnection http = connection.unwrap(HttpConnection.class);
+
+		List<Future<Neo4jResponse>> futures = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			futures.add(http.executeQueryAsync("RETURN {value} AS value", Collections.<String, Object>singletonMap("value", i), Boolean.FALSE));
+		}
+		for (int i = 0; i < 20; i++) {
+			Neo4jResponse response = futures.get(i).get();
+			assertFalse(response.hasErrors());
+			assertEquals(i, response.results.get(0).nextRow().get(0));
+		}
+
+		connection.close();
+	}
+
+	@Test public void executeQueryAsyncShouldFailInTransaction() throws SQLException {
+		expectedEx.expect(SQLException.class);
+
+		Connection connection = DriverManager.getConnection(getJDBCUrl());
+		connection.setAutoCommit(false);
+		try {
+			connection.unwrap(HttpConnection.class).executeQueryAsync("RETURN 1", null, Boolean.FALSE);
+		} finally {
+			connection.close();
+		}
+	}
+
+	@Test public void autocommitShouldStillWorkAfterAnError() throws SQLException {
+		Connection connection = DriverManager.getConnection(getJDBCUrl());
+		try {
+			connection.createStatement().execute("AZERTYUIOP");
+			fail();
+		} catch (SQLException e) {
+			// expected
+		}
+		connection.createStatement().execute("CREATE (n:TestAutocommitAfterError_" + secureMode.toString() + ")");
+
+		Connection reader = DriverManager.getConnection(getJDBCUrl());
+		ResultSet rs = reader.createStatement().executeQuery("MATCH (n:TestAutocommitAfterError_" + secureMode.toString() + ") RETURN count(n)");
+		assertTrue(rs.next());
+		assertEquals(1, rs.getInt(1));
+
+		connection.close();
+		reader.close();
+	}
+
 	@Test public void commitShouldWork() throws SQLException {
 		// Write something
 		Connection writer = DriverManager.getConnection(getJDBCUrl());
@@ -70,6 +123,88 @@ public class HttpConnectionIT extends Neo4jHttpIT {
 		reader.close();
 	}
 
+	@Test public void deferredUpdatesShouldBeSentWithTheCommit() throws SQLException {
+		String label = "TestDeferredUpdates_" + secureMode.toString();
+		Connection writer = DriverManager.getConnection(getJDBCUrl() + "?deferUpdates=true");
+		HttpConnection http = writer.unwrap(HttpConnection.class);
+		writer.setAutoCommit(false);
+		long exchanges = http.executor.getHttpExchangeCount();
+
+		PreparedStatement statement = writer.prepareStatement("CREATE (n:" + label + " {value:{1}})");
+		statement.setInt(1, 1);
+		assertFalse(statement.execute());
+		assertEquals(-1, statement.getUpdateCount());
+		statement.setInt(1, 2);
+		assertFalse(statement.execute());
+		assertEquals(exchanges, http.executor.getHttpExchangeCount());
+
+		// The whole transaction is a single request
+		writer.commit();
+		assertEquals(exchanges + 1, http.executor.getHttpExchangeCount());
+		assertArrayEquals(new int[] { 1, 1 }, http.getDeferredUpdateCounts());
+
+		Connection reader = DriverManager.getConnection(getJDBCUrl());
+		ResultSet rs = reader.createStatement().executeQuery("MATCH (n:" + label + ") RETURN n.value ORDER BY n.value");
+		assertTrue(rs.next());
+		assertEquals(1, rs.getInt(1));
+		assertTrue(rs.next());
+		assertEquals(2, rs.getInt(1));
+		assertFalse(rs.next());
+
+		writer.close();
+		reader.close();
+	}
+
+	@Test public void executeUpdateShouldSendTheDeferredUpdatesAndReturnItsOwnCount() throws SQLException {
+		String label = "TestDeferredUpdatesCount_" + secureMode.toString();
+		Connection writer = DriverManager.getConnection(getJDBCUrl() + "?deferUpdates=true");
+		HttpConnection http = writer.unwrap(HttpConnection.class);
+		writer.setAutoCommit(false);
+		long exchanges = http.executor.getHttpExchangeCount();
+
+		assertFalse(writer.createStatement().execute("CREATE (n:" + label + ")"));
+		assertFalse(writer.createStatement().execute("CREATE (n:" + label + ")"));
+		assertEquals(exchanges, http.executor.getHttpExchangeCount());
+		assertEquals(2, writer.createStatement().executeUpdate("MATCH (n:" + label + ") DELETE n"));
+		assertEquals(exchanges + 1, http.executor.getHttpExchangeCount());
+		assertTrue(writer.createStatement().execute("MATCH (n:" + label + ") RETURN count(n)"));
+
+		writer.commit();
+		assertArrayEquals(new int[] { 1, 1 }, http.getDeferredUpdateCounts());
+		writer.close();
+	}
+
+	@Test public void deferredUpdatesShouldBeSeenByTheNextQuery() throws SQLException {
+		String label = "TestDeferredUpdatesRead_" + secureMode.toString();
+		Connection writer = DriverManager.getConnection(getJDBCUrl() + "?deferUpdates=true");
+		writer.setAutoCommit(false);
+
+		writer.createStatement().execute("CREATE (n:" + label + ")");
+		ResultSet rs = writer.createStatement().executeQuery("MATCH (n:" + label + ") RETURN count(n)");
+		assertTrue(rs.next());
+		assertEquals(1, rs.getInt(1));
+		writer.createStatement().execute("MATCH (n:" + label + ") DELETE n");
+
+		writer.commit();
+		assertArrayEquals(new int[] { 1, 1 }, writer.unwrap(HttpConnection.class).getDeferredUpdateCounts());
+		writer.close();
+	}
+
+	@Test public void deferredUpdatesShouldBeDiscardedByRollback() throws SQLException {
+		String label = "TestDeferredUpdatesRollback_" + secureMode.toString();
+		Connection writer = DriverManager.getConnection(getJDBCUrl() + "?deferUpdates=true");
+		writer.setAutoCommit(false);
+		writer.createStatement().execute("CREATE (n:" + label + ")");
+		writer.rollback();
+		writer.commit();
+		assertArrayEquals(new int[0], writer.unwrap(HttpConnection.class).getDeferredUpdateCounts());
+
+		ResultSet rs = writer.createStatement().executeQuery("MATCH (n:" + label + ") RETURN count(n)");
+		assertTrue(rs.next());
+		assertEquals(0, rs.getInt(1));
+		writer.close();
+	}
+
 	@Test public void changeCommitModeOnOpenedTransactionShouldCommit() throws SQLException {
 		// Write something
 		Connection writer = DriverManager.getConnection(getJDBCUrl());
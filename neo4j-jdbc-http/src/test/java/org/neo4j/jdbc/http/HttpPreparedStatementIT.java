@@ -24,6 +24,7 @@ import org.junit.Test;
 import org.neo4j.graphdb.Result;
 
 import java.sql.*;
+import java.util.Map;
 
 import static org.junit.Assert.*;
 
@@ -132,5 +133,87 @@ public class HttpPreparedStatementIT extends Neo4jHttpIT {
 
 		connection.close();
 	}
-}
 
+	@Test public void executeBatchWithChunksShouldWork() throws SQLException {
+		Connection connection = DriverManager.getConnection("jdbc:neo4j:" + neo4j.httpURI().toString() + "?batchChunkSize=2");
+		PreparedStatement statement = connection.prepareStatement("CREATE (:TestExecuteBatchWithChunksShouldWork_" + secureMode.toString() + " { value:?})");
+		connection.setAutoCommit(false);
+		for (int i = 0; i < 5; i++) {
+			statement.setInt(1, i);
+			statement.addBatch();
+		}
+
+		long exchanges = connection.unwrap(HttpConnection.class).executor.getHttpExchangeCount();
+		int[] result = statement.executeBatch();
+		assertArrayEquals(new int[]{1, 1, 1, 1, 1}, result);
+		assertEquals(exchanges + 3, connection.unwrap(HttpConnection.class).executor.getHttpExchangeCount());
+
+		connection.commit();
+		Result res = neo4j.getGraphDatabaseService().execute("MATCH (n:TestExecuteBatchWithChunksShouldWork_" + secureMode.toString() + ") RETURN count(n) AS total");
+		while(res.hasNext()){
+			assertEquals(5L, res.next().get("total"));
+		}
+
+		connection.close();
+	}
+
+	@Test public void executeBatchWithChunksShouldStopAtFirstError() throws SQLException {
+		Connection connection = DriverManager.getConnection("jdbc:neo4j:" + neo4j.httpURI().toString() + "?batchChunkSize=2");
+		Statement statement = connection.createStatement();
+		statement.addBatch("CREATE (:TestExecuteBatchWithChunksShouldStopAtFirstError)");
+		statement.addBatch("CREATE (:TestExecuteBatchWithChunksShouldStopAtFirstError)");
+		statement.addBatch("CREATE (:TestExecuteBatchWithChunksShouldStopAtFirstError)");
+		statement.addBatch("wrong query");
+		statement.addBatch("CREATE (:TestExecuteBatchWithChunksShouldStopAtFirstError)");
+
+		try {
+			statement.executeBatch();
+			fail();
+		} catch (BatchUpdateException e){
+			assertArrayEquals(new int[]{1, 1, 1}, e.getUpdateCounts());
+		}
+
+		connection.close();
+	}
+
+	@Test public void executeBatchWithUnwindShouldSendRowsTogether() throws SQLException {
+		String label = "TestExecuteBatchWithUnwindShouldSendRowsTogether_" + secureMode.toString();
+		Connection connection = DriverManager.getConnection("jdbc:neo4j:" + neo4j.httpURI().toString() + "?batchMode=unwind&unwindBatchSize=2");
+		PreparedStatement statement = connection.prepareStatement("CREATE (:" + label + " { value:?, name:\"?\"})");
+		connection.setAutoCommit(false);
+		for (int i = 0; i < 5; i++) {
+			statement.setInt(1, i);
+			statement.addBatch();
+		}
+
+		long exchanges = connection.unwrap(HttpConnection.class).executor.getHttpExchangeCount();
+		int[] result = statement.executeBatch();
+		assertArrayEquals(new int[] { Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO,
+				Statement.SUCCESS_NO_INFO }, result);
+		assertEquals(exchanges + 1, connection.unwrap(HttpConnection.class).executor.getHttpExchangeCount());
+
+		connection.commit();
+		Result res = neo4j.getGraphDatabaseService().execute("MATCH (n:" + label + " {name:'?'}) RETURN count(n) AS total, sum(n.value) AS sum");
+		while (res.hasNext()) {
+			Map<String, Object> row = res.next();
+			assertEquals(5L, row.get("total"));
+			assertEquals(10L, row.get("sum"));
+		}
+
+		connection.close();
+	}
+
+	@Test public void executeBatchWithUnwindShouldRunRowsOneByOneWhenStatementCantBeRewritten() throws SQLException {
+		String label = "TestExecuteBatchWithUnwindShouldRunRowsOneByOne_" + secureMode.toString();
+		Connection connection = DriverManager.getConnection("jdbc:neo4j:" + neo4j.httpURI().toString() + "?batchMode=unwind");
+		PreparedStatement statement = connection.prepareStatement("CREATE (n:" + label + " { value:?}) RETURN n");
+		for (int i = 0; i < 3; i++) {
+			statement.setInt(1, i);
+			statement.addBatch();
+		}
+
+		assertArrayEquals(new int[] { 1, 1, 1 }, statement.executeBatch());
+
+		connection.close();
+	}
+}
@@ -24,6 +24,7 @@ import org.junit.Test;
 import org.neo4j.graphdb.Result;
 
 import java.sql.*;
+import java.util.Collections;
 
 import static org.junit.Assert.*;
 
@@ -56,6 +57,69 @@ public class HttpStatementIT extends Neo4jHttpIT {
 		connection.close();
 	}
 
+	@Test public void executeQueryWithStreamingShouldExecuteAndReturnCorrectData() throws SQLException {
+		Connection connection = DriverManager.getConnection("jdbc:neo4j:" + neo4j.httpURI().toString() + "?streaming=true");
+		Statement statement = connection.createStatement();
+		ResultSet rs = statement.executeQuery("UNWIND range(1, 1000) AS x RETURN x");
+
+		for (int i = 1; i <= 1000; i++) {
+			assertTrue(rs.next());
+			assertEquals(i, rs.getInt(1));
+		}
+		assertFalse(rs.next());
+		connection.close();
+	}
+
+	@Test public void executeQueryWithStreamingShouldKeepResultSetAcrossQueries() throws SQLException {
+		Connection connection = DriverManager.getConnection("jdbc:neo4j:" + neo4j.httpURI().toString() + "?streaming=true");
+		connection.setAutoCommit(false);
+		ResultSet first = connection.createStatement().executeQuery("UNWIND range(1, 3) AS x RETURN x");
+		assertTrue(first.next());
+		assertEquals(1, first.getInt(1));
+
+		ResultSet second = connection.createStatement().executeQuery("RETURN 42");
+		assertTrue(second.next());
+		assertEquals(42, second.getInt(1));
+
+		assertTrue(first.next());
+		assertEquals(2, first.getInt(1));
+		assertTrue(first.next());
+		assertFalse(first.next());
+
+		connection.commit();
+		connection.close();
+	}
+
+	@Test public void executeQueryWithStreamingShouldThrowErrorAfterData() throws SQLException {
+		expectedEx.expect(SQLException.class);
+
+		Connection connection = DriverManager.getConnection("jdbc:neo4j:" + neo4j.httpURI().toString() + "?streaming=true");
+		try {
+			ResultSet rs = connection.createStatement().executeQuery("UNWIND [1, 0] AS x RETURN 1 / x");
+			while (rs.next()) {
+				rs.getInt(1);
+			}
+		} finally {
+			connection.close();
+		}
+	}
+
+	@Test public void executeQueryWithMaxResultMemoryShouldSpillRowsToDisk() throws SQLException {
+		Connection connection = DriverManager.getConnection("jdbc:neo4j:" + neo4j.httpURI().toString() + "?maxResultMemory=4096");
+		Statement statement = connection.createStatement();
+		ResultSet rs = statement.executeQuery("UNWIND range(1, 5000) AS x RETURN x, 'value ' + x, {x: x}");
+
+		for (int i = 1; i <= 5000; i++) {
+			assertTrue(rs.next());
+			assertEquals(i, rs.getInt(1));
+			assertEquals("value " + i, rs.getString(2));
+			assertEquals(Collections.singletonMap("x", i), rs.getObject(3));
+		}
+		assertFalse(rs.next());
+		rs.close();
+		connection.close();
+	}
+
 	@Test public void executeBadCypherQueryShouldReturnAnSQLException() throws SQLException {
 		expectedEx.expect(SQLException.class);
 
@@ -94,6 +158,22 @@ public class HttpStatementIT extends Neo4jHttpIT {
 		connection.close();
 	}
 
+	@Test public void executeQueryShouldOnlyAskStatsWhenNeeded() throws SQLException {
+		Connection connection = DriverManager.getConnection("jdbc:neo4j:" + neo4j.httpURI().toString());
+		HttpConnection http = connection.unwrap(HttpConnection.class);
+		assertNull(http.executeQuery("RETURN 1", null, Boolean.FALSE).results.get(0).stats);
+		assertNotNull(http.executeQuery("RETURN 1", null, Boolean.TRUE).results.get(0).stats);
+		connection.close();
+
+		connection = DriverManager.getConnection("jdbc:neo4j:" + neo4j.httpURI().toString() + "?includeStats=always&resultDataContents=row");
+		http = connection.unwrap(HttpConnection.class);
+		assertNotNull(http.executeQuery("RETURN 1", null, Boolean.FALSE).results.get(0).stats);
+		ResultSet rs = connection.createStatement().executeQuery("RETURN 1");
+		assertTrue(rs.next());
+		assertEquals(1, rs.getInt(1));
+		connection.close();
+	}
+
 	/*------------------------------*/
 	/*         executeBatch         */
 	/*------------------------------*/
@@ -19,6 +19,7 @@
  */
 package org.neo4j.jdbc.http.driver;
 
+import org.neo4j.jdbc.http.test.Neo4jHttpProxy;
 import org.neo4j.jdbc.http.test.Neo4jHttpIT;
 import org.junit.After;
 import org.junit.Before;
@@ -98,10 +99,91 @@ public class CypherExecutorIT extends Neo4jHttpIT {
 		assertEquals(2, response.results.get(0).rows.size());
 	}
 
+	@Test public void eachRequestShouldCostOneHttpExchange() throws SQLException {
+		Properties properties = new Properties();
+		properties.put("password", "neo4j");
+		CypherExecutor authenticated = new CypherExecutor(neo4j.httpURI().getHost(), neo4j.httpURI().getPort(), false, properties);
+		try {
+			authenticated.setAutoCommit(Boolean.FALSE);
+			authenticated.executeQuery(new Neo4jStatement("RETURN 1", null, Boolean.FALSE));
+			assertEquals(1, authenticated.getHttpExchangeCount());
+			authenticated.executeQuery(new Neo4jStatement("RETURN 2", null, Boolean.FALSE));
+			assertEquals(2, authenticated.getHttpExchangeCount());
+			authenticated.commit();
+			assertEquals(3, authenticated.getHttpExchangeCount());
+			// The version is fetched once by server, maybe already by another executor
+			boolean cached = authenticated.connectionManager.getServerVersion() != null;
+			authenticated.getServerVersion();
+			authenticated.getServerVersion();
+			assertEquals(cached ? 3 : 4, authenticated.getHttpExchangeCount());
+		} finally {
+			authenticated.close();
+		}
+	}
+
+	/**
+	 * Run a query through a proxy that requires authentication, and count the requests it received.
+	 */
+	private void assertAuthenticatedQueryCost(boolean preemptive, int requests) throws Exception {
+		Properties properties = new Properties();
+		properties.put("password", "test");
+		properties.put("preemptiveauth", String.valueOf(preemptive));
+		try (Neo4jHttpProxy proxy = new Neo4jHttpProxy(neo4j.httpURI()).requireBasicAuth("neo4j", "test")) {
+			CypherExecutor authenticated = new CypherExecutor("localhost", proxy.getPort(), false, properties);
+			try {
+				Neo4jResponse response = authenticated.executeQuery(new Neo4jStatement("RETURN 1", null, Boolean.FALSE));
+				assertFalse(response.displayErrors(), response.hasErrors());
+				assertEquals(requests, proxy.getRequests());
+				assertEquals(requests, authenticated.getHttpExchangeCount());
+			} finally {
+				authenticated.close();
+			}
+		}
+	}
+
+	@Test public void preemptiveAuthenticationShouldSendOneRequest() throws Exception {
+		assertAuthenticatedQueryCost(true, 1);
+	}
+
+	@Test public void authenticationChallengeShouldBeCounted() throws Exception {
+		assertAuthenticatedQueryCost(false, 2);
+	}
+
+	@Test public void executeQueryWithCompressionShouldSucceed() throws Exception {
+		Properties properties = new Properties();
+		properties.put("compression", "gzip");
+		// the queries are smaller than the default threshold, every body is gzipped with 0
+		properties.put("compressionthreshold", "0");
+		try (Neo4jHttpProxy proxy = new Neo4jHttpProxy(neo4j.httpURI())) {
+			CypherExecutor compressed = new CypherExecutor("localhost", proxy.getPort(), false, properties);
+			try {
+				List<Neo4jStatement> queries = getRandomNeo4jStatementFromCSV("data/queries.csv", -1).get("object");
+				Neo4jResponse response = compressed.executeQueries(queries);
+
+				assertEquals(queries.size(), response.results.size());
+				assertFalse(response.hasErrors());
+				assertEquals(1, proxy.getGzippedRequests());
+			} finally {
+				compressed.close();
+			}
+		}
+	}
+
 	@Test public void getServerVersionShouldSucceed() throws SQLException {
 		assertNotEquals("Unknown", executor.getServerVersion());
 	}
 
+	@Test public void getServerVersionShouldBeFetchedOnceByServer() throws SQLException {
+		CypherExecutor other = new CypherExecutor(neo4j.httpsURI().getHost(), neo4j.httpsURI().getPort(), false, new Properties());
+		try {
+			String version = executor.getServerVersion();
+			assertEquals(version, other.getServerVersion());
+			assertEquals(0, other.getHttpExchangeCount());
+		} finally {
+			other.close();
+		}
+	}
+
 	@Test public void executeInvalidQueryShouldNotOpenTransaction() throws Exception {
 		executor.setAutoCommit(Boolean.FALSE);
 
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 17/10/2026
+ */
+package org.neo4j.jdbc.http.driver;
+
+import org.junit.After;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.neo4j.harness.junit.Neo4jRule;
+
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.sql.SQLException;
+import java.util.Properties;
+
+import static org.junit.Assert.*;
+
+public class CypherExecutorKeepAliveIT {
+
+	@ClassRule public static Neo4jRule neo4j = new Neo4jRule().withConfig("dbms.transaction_timeout", "2s");
+
+	private CypherExecutor executor;
+
+	private CypherExecutor createExecutor(boolean keepAlive) throws SQLException {
+		Properties properties = new Properties();
+		properties.put("transactionkeepalive", String.valueOf(keepAlive));
+		this.executor = new CypherExecutor(neo4j.httpURI().getHost(), neo4j.httpURI().getPort(), false, properties);
+		executor.setAutoCommit(Boolean.FALSE);
+		return executor;
+	}
+
+	@Test public void idleTransactionShouldBeKeptAlive() throws Exception {
+		CypherExecutor executor = createExecutor(true);
+		Neo4jResponse response = executor.executeQuery(new Neo4jStatement("CREATE (:KeepAlive)", null, Boolean.FALSE));
+		assertTrue(response.transactionTimeout > 0);
+		Integer transactionId = executor.getOpenTransactionId();
+
+		Thread.sleep(5000);
+		assertTrue(executor.getHttpExchangeCount() > 1);
+
+		response = executor.executeQuery(new Neo4jStatement("MATCH (n:KeepAlive) RETURN count(n)", null, Boolean.FALSE));
+		assertFalse(response.displayErrors(), response.hasErrors());
+		assertEquals(transactionId, executor.getOpenTransactionId());
+		executor.rollback();
+	}
+
+	@Test public void idleTransactionShouldExpireWithoutKeepAlive() throws Exception {
+		CypherExecutor executor = createExecutor(false);
+		executor.executeQuery(new Neo4jStatement("RETURN 1", null, Boolean.FALSE));
+
+		Thread.sleep(5000);
+		assertEquals(1, executor.getHttpExchangeCount());
+
+		Neo4jResponse response = executor.executeQuery(new Neo4jStatement("RETURN 1", null, Boolean.FALSE));
+		assertTrue(response.hasErrors());
+	}
+
+	@Test public void commitShouldStopKeepAlive() throws Exception {
+		CypherExecutor executor = createExecutor(true);
+		executor.executeQuery(new Neo4jStatement("RETURN 1", null, Boolean.FALSE));
+		executor.commit();
+		long exchanges = executor.getHttpExchangeCount();
+
+		Thread.sleep(3000);
+		assertEquals(exchanges, executor.getHttpExchangeCount());
+	}
+
+	@Test public void failedKeepAliveShouldBeThrownUntilRollback() throws Exception {
+		CypherExecutor executor = createExecutor(true);
+		executor.executeQuery(new Neo4jStatement("CREATE (:KeepAliveFailure)", null, Boolean.FALSE));
+		executor.deferQuery(new Neo4jStatement("CREATE (:KeepAliveFailure)", null, Boolean.FALSE));
+
+		// The transaction is rolled back behind the executor, so its keep-alive fails
+		HttpURLConnection connection = (HttpURLConnection) new URL(neo4j.httpURI().toString() + "db/data/transaction/" + executor.getOpenTransactionId())
+				.openConnection();
+		connection.setRequestMethod("DELETE");
+		assertEquals(200, connection.getResponseCode());
+		connection.disconnect();
+		Thread.sleep(3000);
+
+		try {
+			executor.executeQuery(new Neo4jStatement("RETURN 1", null, Boolean.FALSE));
+			fail();
+		} catch (SQLException e) {
+			assertTrue(e.getMessage(), e.getMessage().contains("kept alive"));
+		}
+		try {
+			executor.commit();
+			fail();
+		} catch (SQLException e) {
+			assertTrue(e.getMessage(), e.getMessage().contains("kept alive"));
+		}
+
+		executor.rollback();
+		Neo4jResponse response = executor.executeQuery(new Neo4jStatement("MATCH (n:KeepAliveFailure) RETURN count(n)", null, Boolean.FALSE));
+		assertFalse(response.displayErrors(), response.hasErrors());
+		assertEquals(0L, response.results.get(0).rows.getLong(0, 0));
+		executor.rollback();
+	}
+
+	@After public void after() throws SQLException {
+		executor.close();
+	}
+}
@@ -19,6 +19,7 @@
  */
 package org.neo4j.jdbc.http.driver;
 
+import org.apache.http.HttpHost;
 import org.neo4j.jdbc.http.test.Neo4jHttpUnitTest;
 import org.junit.After;
 import org.junit.Assert;
@@ -72,6 +73,89 @@ public class CypherExecutorTest extends Neo4jHttpUnitTest {
 		executor.executeQuery(new Neo4jStatement("", null, null));
 	}
 
+	@Test public void executorsOnSameServerShouldShareConnectionPool() throws SQLException {
+		CypherExecutor other = new CypherExecutor("azertyuiop", 1234, false, new Properties());
+		CypherExecutor secured = new CypherExecutor("azertyuiop", 1234, true, new Properties());
+		try {
+			Assert.assertSame(executor.connectionManager, other.connectionManager);
+			Assert.assertNotSame(executor.connectionManager, secured.connectionManager);
+			Assert.assertEquals(2, executor.connectionManager.getReferences());
+		} finally {
+			other.close();
+			secured.close();
+		}
+		Assert.assertEquals(1, executor.connectionManager.getReferences());
+	}
+
+	@Test public void closeShouldReleaseConnectionPoolOnlyOnce() throws SQLException {
+		CypherExecutor other = new CypherExecutor("azertyuiop", 1234, false, new Properties());
+		other.close();
+		other.close();
+
+		Assert.assertEquals(1, executor.connectionManager.getReferences());
+	}
+
+	@Test public void poolSettingsShouldBeReadFromProperties() throws SQLException {
+		Properties properties = new Properties();
+		properties.put("maxtotalconnections", "7");
+		properties.put("maxconnectionsperroute", "3");
+		properties.put("validateafterinactivity", "2000");
+		CypherExecutor other = new CypherExecutor("qsdfghjklm", 1234, false, properties);
+		try {
+			Assert.assertEquals(7, other.connectionManager.manager.getMaxTotal());
+			Assert.assertEquals(3, other.connectionManager.manager.getDefaultMaxPerRoute());
+			Assert.assertFalse(other.connectionManager.staleConnectionCheck);
+			Assert.assertEquals(200, other.connectionManager.evictionPeriod);
+			Assert.assertEquals(1800, other.connectionManager.maxIdleTime);
+		} finally {
+			other.close();
+		}
+	}
+
+	@Test public void credentialsShouldBeSentPreemptively() throws SQLException {
+		Properties properties = new Properties();
+		properties.put("password", "secret");
+		CypherExecutor other = new CypherExecutor("azertyuiop", 1234, false, properties);
+		try {
+			Assert.assertNotNull(other.context.getAuthCache());
+			Assert.assertNotNull(other.context.getAuthCache().get(new HttpHost("azertyuiop", 1234, "http")));
+		} finally {
+			other.close();
+		}
+	}
+
+	@Test public void preemptiveAuthCanBeDisabled() throws SQLException {
+		Properties properties = new Properties();
+		properties.put("password", "secret");
+		properties.put("preemptiveauth", "false");
+		CypherExecutor other = new CypherExecutor("azertyuiop", 1234, false, properties);
+		try {
+			Assert.assertNull(other.context.getAuthCache());
+			Assert.assertNotNull(other.context.getCredentialsProvider());
+		} finally {
+			other.close();
+		}
+	}
+
+	@Test public void unknownCompressionShouldFail() throws SQLException {
+		expectedEx.expect(SQLException.class);
+
+		Properties properties = new Properties();
+		properties.put("compression", "lzma");
+		new CypherExecutor("azertyuiop", 1234, false, properties);
+	}
+
+	@Test public void invalidPropertyShouldNotAcquireTheConnectionPool() throws SQLException {
+		Properties properties = new Properties();
+		properties.put("asyncthreads", "eight");
+		try {
+			new CypherExecutor("azertyuiop", 1234, false, properties);
+			Assert.fail();
+		} catch (NumberFormatException e) {
+			Assert.assertEquals(1, executor.connectionManager.getReferences());
+		}
+	}
+
 	@After public void after() throws SQLException {
 		executor.close();
 	}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 17/10/2026
+ */
+package org.neo4j.jdbc.http.driver;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.sql.SQLDataException;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+
+public class Neo4jColumnarRowsTest {
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	private Neo4jResult decode(String data) throws Exception {
+		return decode(data, 0);
+	}
+
+	private Neo4jResult decode(String data, long memoryLimit) throws Exception {
+		JsonParser parser = mapper.getFactory().createParser("{\"columns\":[\"a\",\"b\",\"c\"],\"data\":" + data + ",\"stats\":{}}");
+		parser.nextToken();
+		return new Neo4jResult(parser, mapper, memoryLimit);
+	}
+
+	@Test public void primitiveColumnsShouldBeDecoded() throws Exception {
+		Neo4jResult result = decode("[{\"row\":[1,1.5,true],\"meta\":[null,null,null]},{\"row\":[null,null,null]},{\"row\":[3000000000,-2.0,false]}]");
+
+		Assert.assertEquals(3, result.rows.size());
+		Assert.assertTrue(result.next());
+		Assert.assertEquals(1, result.getLong(0));
+		Assert.assertEquals(1.5, result.getDouble(1), 0);
+		Assert.assertTrue(result.getBoolean(2));
+		Assert.assertEquals(Arrays.<Object>asList(1, 1.5, true), result.rows.getRow(0));
+
+		Assert.assertTrue(result.next());
+		Assert.assertTrue(result.isNull(0));
+		Assert.assertEquals(0, result.getLong(0));
+		Assert.assertEquals(0, result.getDouble(1), 0);
+		Assert.assertFalse(result.getBoolean(2));
+
+		Assert.assertTrue(result.next());
+		Assert.assertEquals(3000000000L, result.getObject(0));
+		Assert.assertEquals(-2, result.getLong(1));
+		Assert.assertFalse(result.getBoolean(2));
+		Assert.assertFalse(result.next());
+		Assert.assertNotNull(result.stats);
+	}
+
+	@Test public void mixedColumnsShouldFallBackToObjects() throws Exception {
+		Neo4jResult result = decode("[{\"row\":[1,\"x\",{\"k\":[1]}]},{\"row\":[2.5,1,[true]]},{\"row\":[18446744073709551616,null,null]}]");
+
+		Assert.assertEquals(Arrays.<Object>asList(1, "x", Collections.singletonMap("k", Arrays.asList(1))), result.rows.getRow(0));
+		Assert.assertEquals(Arrays.<Object>asList(2.5, 1, Arrays.asList(true)), result.rows.getRow(1));
+		Assert.assertEquals(new BigInteger("18446744073709551616"), result.rows.getObject(2, 0));
+		Assert.assertEquals(2, result.rows.getLong(1, 0));
+		Assert.assertTrue(result.rows.isNull(2, 1));
+	}
+
+	@Test(expected = SQLDataException.class) public void stringShouldNotBeReadAsNumber() throws Exception {
+		Neo4jResult result = decode("[{\"row\":[\"x\",null,null]}]");
+		result.next();
+		result.getLong(0);
+	}
+
+	@Test public void manyRowsShouldKeepTheirNulls() throws Exception {
+		StringBuilder data = new StringBuilder("[");
+		for (int i = 0; i < 1000; i++) {
+			data.append(i > 0 ? "," : "").append("{\"row\":[").append(i % 3 == 0 ? "null" : String.valueOf(i)).append(",\"s").append(i).append("\"]}");
+		}
+		Neo4jResult result = decode(data.append("]").toString());
+
+		for (int i = 0; i < 1000; i++) {
+			Assert.assertTrue(result.next());
+			Assert.assertEquals(i % 3 == 0, result.isNull(0));
+			Assert.assertEquals(i % 3 == 0 ? 0 : i, result.getLong(0));
+			Assert.assertEquals("s" + i, result.getObject(1));
+			Assert.assertTrue(result.isNull(2));
+		}
+		Assert.assertFalse(result.next());
+	}
+
+	@Test public void rowsAboveMemoryLimitShouldBeSpilledToDisk() throws Exception {
+		StringBuilder data = new StringBuilder("[");
+		for (int i = 0; i < 1000; i++) {
+			data.append(i > 0 ? "," : "").append("{\"row\":[").append(i).append(",\"s").append(i).append("\",").append(i % 2 == 0 ? "true" : "null").append("]}");
+		}
+		Neo4jResult result = decode(data.append("]").toString(), 1024);
+		Assert.assertTrue(result.rows.isSpilled());
+		Assert.assertEquals(1000, result.rows.size());
+
+		for (int i = 0; i < 1000; i++) {
+			Assert.assertTrue(result.next());
+			Assert.assertEquals(i, result.getLong(0));
+			Assert.assertEquals(i, result.getDouble(0), 0);
+			Assert.assertEquals("s" + i, result.getObject(1));
+			Assert.assertEquals(i % 2 != 0, result.isNull(2));
+			Assert.assertEquals(i % 2 == 0, result.getBoolean(2));
+			Assert.assertEquals(Arrays.<Object>asList(i, "s" + i, i % 2 == 0 ? true : null), result.rows.getRow(i));
+		}
+		Assert.assertFalse(result.next());
+		result.close();
+	}
+
+	@Test(expected = SQLException.class) public void spilledRowsShouldBeReadInOrder() throws Exception {
+		Neo4jResult result = decode("[{\"row\":[\"a long enough string\"]},{\"row\":[1]},{\"row\":[2]},{\"row\":[3]}]", 1);
+		Assert.assertTrue(result.rows.isSpilled());
+		result.rows.getObject(3, 0);
+	}
+}
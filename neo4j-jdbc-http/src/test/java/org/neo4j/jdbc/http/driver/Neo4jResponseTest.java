@@ -23,14 +23,18 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.neo4j.jdbc.http.test.Neo4jHttpUnitTest;
 import org.apache.http.HttpResponse;
 import org.apache.http.ProtocolVersion;
+import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.message.BasicHttpResponse;
 import org.apache.http.message.BasicStatusLine;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.UnsupportedEncodingException;
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
 
 public class Neo4jResponseTest extends Neo4jHttpUnitTest {
 
@@ -54,12 +58,91 @@ public class Neo4jResponseTest extends Neo4jHttpUnitTest {
 		Assert.assertTrue(response.displayErrors().length() > 0);
 	}
 
+	@Test public void streamShouldDecodeRowsOneByOne() throws SQLException {
+		String body = "{\"results\":[{\"columns\":[\"n\"],\"data\":[{\"row\":[1],\"meta\":[null]},{\"row\":[2],\"meta\":[null]}]," +
+				"\"stats\":{\"nodes_created\":0}}],\"errors\":[]}";
+		Neo4jResponse response = new Neo4jResponse(mockHttpResponse(200, body), new ObjectMapper(), Boolean.TRUE);
+
+		Assert.assertTrue(response.isStreaming());
+		Neo4jResult result = response.results.get(0);
+		Assert.assertTrue(result.isStreaming());
+		Assert.assertEquals(Arrays.asList("n"), result.columns);
+		Assert.assertNull(result.stats);
+
+		Assert.assertEquals(Arrays.<Object>asList(1), result.nextRow());
+		Assert.assertEquals(Arrays.<Object>asList(2), result.nextRow());
+		Assert.assertNull(result.nextRow());
+
+		Assert.assertFalse(result.isStreaming());
+		Assert.assertFalse(response.isStreaming());
+		Assert.assertNotNull(result.stats);
+		Assert.assertFalse(response.hasErrors());
+	}
+
+	@Test public void streamShouldThrowErrorsSentAfterData() throws SQLException {
+		expectedEx.expect(SQLException.class);
+
+		String body = "{\"results\":[{\"columns\":[\"n\"],\"data\":[{\"row\":[1],\"meta\":[null]}]}]," +
+				"\"errors\":[{\"code\":\"Neo.DatabaseError.Statement.ExecutionFailed\",\"message\":\"/ by zero\"}]}";
+		Neo4jResponse response = new Neo4jResponse(mockHttpResponse(200, body), new ObjectMapper(), Boolean.TRUE);
+
+		Neo4jResult result = response.results.get(0);
+		Assert.assertEquals(Arrays.<Object>asList(1), result.nextRow());
+		result.nextRow();
+	}
+
+	@Test public void bufferShouldReadRemainingRows() throws SQLException {
+		String body = "{\"results\":[{\"columns\":[\"n\"],\"data\":[{\"row\":[1],\"meta\":[null]},{\"row\":[2],\"meta\":[null]}]}]," +
+				"\"errors\":[]}";
+		Neo4jResponse response = new Neo4jResponse(mockHttpResponse(200, body), new ObjectMapper(), Boolean.TRUE);
+
+		Neo4jResult result = response.results.get(0);
+		Assert.assertEquals(Arrays.<Object>asList(1), result.nextRow());
+		response.buffer();
+
+		Assert.assertFalse(response.isStreaming());
+		Assert.assertEquals(Arrays.<Object>asList(2), result.nextRow());
+		Assert.assertNull(result.nextRow());
+	}
+
+	@Test public void streamWithErrorsOnlyShouldBeFullyRead() throws SQLException {
+		Neo4jResponse response = generateNeo4jResponse(Boolean.TRUE, Boolean.TRUE);
+
+		Assert.assertFalse(response.isStreaming());
+		Assert.assertTrue(response.hasErrors());
+		Assert.assertEquals(0, response.results.size());
+	}
+
+	@Test public void gzipBodyShouldBeDecoded() throws Exception {
+		String body = "{\"results\":[{\"columns\":[\"n\"],\"data\":[{\"row\":[1],\"meta\":[null]}]}],\"errors\":[]}";
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+			gzip.write(body.getBytes("UTF-8"));
+		}
+		HttpResponse http = new BasicHttpResponse(new BasicStatusLine(new ProtocolVersion("HTTP", 1, 1), 200, ""));
+		http.setEntity(new ByteArrayEntity(compressed.toByteArray()));
+		http.setHeader("Content-Encoding", "gzip");
+
+		Neo4jResponse response = new Neo4jResponse(http, new ObjectMapper(), Boolean.TRUE);
+		Assert.assertEquals(Arrays.<Object>asList(1), response.results.get(0).nextRow());
+		Assert.assertNull(response.results.get(0).nextRow());
+	}
+
 	/**
 	 * Create a response object.
 	 *
 	 * @return
 	 */
 	private Neo4jResponse generateNeo4jResponse(Boolean withErrors) throws SQLException {
+		return generateNeo4jResponse(withErrors, Boolean.FALSE);
+	}
+
+	/**
+	 * Create a response object.
+	 *
+	 * @return
+	 */
+	private Neo4jResponse generateNeo4jResponse(Boolean withErrors, Boolean stream) throws SQLException {
 		String body = "";
 		if (withErrors) {
 			body = "{\n" +
@@ -94,7 +177,7 @@ public class Neo4jResponseTest extends Neo4jHttpUnitTest {
 					"  \"errors\" : [ ]\n" +
 					"}";
 		}
-		Neo4jResponse mock = new Neo4jResponse(mockHttpResponse(200, body), new ObjectMapper());
+		Neo4jResponse mock = new Neo4jResponse(mockHttpResponse(200, body), new ObjectMapper(), stream);
 		return mock;
 	}
 
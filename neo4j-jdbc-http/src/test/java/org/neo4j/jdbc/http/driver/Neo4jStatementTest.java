@@ -23,6 +23,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.neo4j.jdbc.http.test.Neo4jHttpUnitTest;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -39,4 +45,36 @@ public class Neo4jStatementTest extends Neo4jHttpUnitTest {
 		queries = getRandomNeo4jStatementFromCSV("data/queries.csv", 1);
 		assertCSVQueryEqual(queries.get("source"), Neo4jStatement.toJson(queries.get("object"), mapper));
 	}
+
+	@Test public void entityShouldWriteSameJsonAsToJson() throws Exception {
+		ObjectMapper mapper = new ObjectMapper();
+
+		Map<String, List> queries = getRandomNeo4jStatementFromCSV("data/queries.csv", -1);
+		Neo4jStatementEntity entity = new Neo4jStatementEntity(queries.get("object"), mapper);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		entity.writeTo(out);
+
+		assertTrue(entity.isChunked());
+		assertTrue(entity.isRepeatable());
+		assertCSVQueryEqual(queries.get("source"), out.toString("UTF-8"));
+	}
+
+	@Test public void toByteArrayShouldRespectLimit() throws Exception {
+		ObjectMapper mapper = new ObjectMapper();
+
+		Map<String, List> queries = getRandomNeo4jStatementFromCSV("data/queries.csv", -1);
+		Neo4jStatementEntity entity = new Neo4jStatementEntity(queries.get("object"), mapper);
+		byte[] body = entity.toByteArray(Integer.MAX_VALUE);
+
+		assertCSVQueryEqual(queries.get("source"), new String(body, "UTF-8"));
+		assertNull(entity.toByteArray(body.length - 1));
+	}
+
+	@Test public void toJsonShouldIncludeResultDataContents() throws Exception {
+		ObjectMapper mapper = new ObjectMapper();
+
+		Neo4jStatement statement = new Neo4jStatement("RETURN 1", null, Boolean.FALSE, Collections.singletonList("row"));
+		assertEquals("{\"statements\":[{\"statement\":\"RETURN 1\",\"parameters\":{},\"includeStats\":false,\"resultDataContents\":[\"row\"]}]}",
+				Neo4jStatement.toJson(Collections.singletonList(statement), mapper));
+	}
 }
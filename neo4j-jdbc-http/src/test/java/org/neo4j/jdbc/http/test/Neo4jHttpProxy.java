@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 17/10/2026
+ */
+package org.neo4j.jdbc.http.test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import javax.xml.bind.DatatypeConverter;
+import java.io.*;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * A local http proxy in front of the Neo4j server of the tests.
+ * It inflates the gzipped request bodies before sending them to the server, like the proxies that
+ * <code>compression=gzip</code> is meant for : the Neo4j server doesn't accept compressed requests itself.
+ * It can also require Basic authentication, which the test server can't enable, and counts the requests it receives.
+ *
+ * @author AgileLARUS
+ * @since 3.0.0
+ */
+public class Neo4jHttpProxy implements Closeable {
+
+	private static final List<String> SKIPPED_HEADERS = Arrays.asList("host", "content-length", "content-encoding", "transfer-encoding", "connection");
+
+	private final HttpServer    server;
+	private final AtomicInteger requests        = new AtomicInteger();
+	private final AtomicInteger gzippedRequests = new AtomicInteger();
+
+	/**
+	 * Expected value of the Authorization header, <code>null</code> if the requests are not authenticated.
+	 */
+	private String authorization;
+
+	public Neo4jHttpProxy(final URI target) throws IOException {
+		this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		this.server.createContext("/", new HttpHandler() {
+			@Override public void handle(HttpExchange exchange) throws IOException {
+				try {
+					forward(target, exchange);
+				} finally {
+					exchange.close();
+				}
+			}
+		});
+		this.server.start();
+	}
+
+	public int getPort() {
+		return this.server.getAddress().getPort();
+	}
+
+	/**
+	 * Answer with a Basic authentication challenge to the requests without these credentials.
+	 */
+	public Neo4jHttpProxy requireBasicAuth(String user, String password) {
+		this.authorization = "Basic " + DatatypeConverter.printBase64Binary((user + ":" + password).getBytes(StandardCharsets.UTF_8));
+		return this;
+	}
+
+	/**
+	 * @return The number of requests received, authentication challenges included
+	 */
+	public int getRequests() {
+		return this.requests.get();
+	}
+
+	/**
+	 * @return The number of requests received with a gzipped body
+	 */
+	public int getGzippedRequests() {
+		return this.gzippedRequests.get();
+	}
+
+	private void forward(URI target, HttpExchange exchange) throws IOException {
+		this.requests.incrementAndGet();
+		if (this.authorization != null && !this.authorization.equals(exchange.getRequestHeaders().getFirst("Authorization"))) {
+			read(exchange.getRequestBody());
+			exchange.getResponseHeaders().add("WWW-Authenticate", "Basic realm=\"Neo4j\"");
+			exchange.sendResponseHeaders(401, -1);
+			return;
+		}
+
+		HttpURLConnection connection = (HttpURLConnection) new URL("http", target.getHost(), target.getPort(), exchange.getRequestURI().toString())
+				.openConnection();
+		connection.setRequestMethod(exchange.getRequestMethod());
+		for (Map.Entry<String, List<String>> header : exchange.getRequestHeaders().entrySet()) {
+			if (!SKIPPED_HEADERS.contains(header.getKey().toLowerCase())) {
+				for (String value : header.getValue()) {
+					connection.addRequestProperty(header.getKey(), value);
+				}
+			}
+		}
+
+		InputStream body = exchange.getRequestBody();
+		if ("gzip".equalsIgnoreCase(exchange.getRequestHeaders().getFirst("Content-Encoding"))) {
+			this.gzippedRequests.incrementAndGet();
+			body = new GZIPInputStream(body);
+		}
+		byte[] request = read(body);
+		if (request.length > 0) {
+			connection.setDoOutput(true);
+			try (OutputStream out = connection.getOutputStream()) {
+				out.write(request);
+			}
+		}
+
+		int code = connection.getResponseCode();
+		InputStream in = code < 400 ? connection.getInputStream() : connection.getErrorStream();
+		byte[] response = in == null ? new byte[0] : read(in);
+		for (Map.Entry<String, List<String>> header : connection.getHeaderFields().entrySet()) {
+			if (header.getKey() != null && !header.getKey().equalsIgnoreCase("content-length") && !header.getKey().equalsIgnoreCase("transfer-encoding")) {
+				exchange.getResponseHeaders().put(header.getKey(), header.getValue());
+			}
+		}
+		exchange.sendResponseHeaders(code, response.length == 0 ? -1 : response.length);
+		if (response.length > 0) {
+			exchange.getResponseBody().write(response);
+		}
+	}
+
+	private static byte[] read(InputStream in) throws IOException {
+		try (InputStream input = in) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] buffer = new byte[8192];
+			for (int count; (count = input.read(buffer)) != -1; ) {
+				out.write(buffer, 0, count);
+			}
+			return out.toByteArray();
+		}
+	}
+
+	@Override public void close() {
+		this.server.stop(0);
+	}
+}
@@ -28,7 +28,7 @@ import java.sql.PreparedStatement;
 import java.sql.Statement;
 import java.util.Map;
 import java.util.Properties;
-import java.util.concurrent.Executor;
+import java.util.concurrent.*;
 
 /**
  * @author AgileLARUS
@@ -57,6 +57,36 @@ public abstract class Connection implements java.sql.Connection {
 	private int holdability;
 
 	protected static final String FASTEST_STATEMENT = "RETURN 1";
+
+	/**
+	 * Max number of checks of <code>isValid</code> run at the same time, and waiting to be run.
+	 */
+	private static final int VALIDATION_THREADS = 8;
+	private static final int VALIDATION_QUEUE   = 256;
+
+	/**
+	 * Threads running the checks of <code>isValid</code>, shared by all the connections and kept for a while between calls.
+	 * A check that is still running after its timeout is left to finish, so checks stuck on an unreachable server can fill
+	 * the pool : the next ones wait in a bounded queue, and the connection is not valid once it is full.
+	 */
+	private static final ThreadPoolExecutor VALIDATION_EXECUTOR = new ThreadPoolExecutor(VALIDATION_THREADS, VALIDATION_THREADS, 60L, TimeUnit.SECONDS,
+			new LinkedBlockingQueue<Runnable>(VALIDATION_QUEUE), new ThreadFactory() {
+		@Override public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "neo4j-jdbc-validation");
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
+
+	static {
+		VALIDATION_EXECUTOR.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * Time (<code>System.nanoTime()</code>) of the last successful check of <code>isValid</code>.
+	 */
+	private volatile long lastValidation;
+	private volatile boolean validated = false;
 	
 	/**
 	 * Default constructor with properties.
@@ -111,6 +141,40 @@ public abstract class Connection implements java.sql.Connection {
 		return flatten == null ? 0 : Integer.parseInt(flatten);
 	}
 
+	/**
+	 * Get the number of rows sent by statement when the batches of prepared statements are rewritten with UNWIND
+	 * (<code>batchMode=unwind</code>), 0 if they are not rewritten.
+	 *
+	 * @return int
+	 */
+	public int getUnwindBatchSize() {
+		if (!"unwind".equalsIgnoreCase(properties.getProperty("batchmode"))) {
+			return 0;
+		}
+		int size = Integer.parseInt(properties.getProperty("unwindbatchsize", "1000"));
+		return size > 0 ? size : Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Get the memory above which the rows of a ResultSet are written to disk (0 if no limit).
+	 *
+	 * @return long
+	 */
+	public long getMaxResultMemory() {
+		String maxResultMemory = properties.getProperty("maxresultmemory");
+		return maxResultMemory == null ? 0 : Long.parseLong(maxResultMemory);
+	}
+
+	/**
+	 * Get the milliseconds during which <code>isValid</code> trusts its last successful check (0 to always check).
+	 *
+	 * @return long
+	 */
+	public long getValidationInterval() {
+		String validationInterval = properties == null ? null : properties.getProperty("validationinterval");
+		return validationInterval == null ? 0 : Long.parseLong(validationInterval);
+	}
+
 	/*---------------------------------------*/
 	/*       Some useful check method        */
 	/*---------------------------------------*/
@@ -341,6 +405,56 @@ public abstract class Connection implements java.sql.Connection {
 		checkClosed();
 	}
 
+	/**
+	 * Implementation of <code>isValid</code> : run the check on a shared thread and wait for it at most
+	 * <code>timeout</code> seconds (no limit if 0).
+	 * The check is skipped if the previous one succeeded less than <code>validationInterval</code> milliseconds ago.
+	 *
+	 * @param timeout Seconds to wait for the check
+	 * @param check   Round trip to the server, that throws an exception if the connection is not valid
+	 */
+	protected boolean validate(int timeout, Callable<?> check) throws SQLException {
+		if (timeout < 0) {
+			throw new SQLException("Timeout can't be less than zero");
+		}
+		if (this.isClosed()) {
+			return false;
+		}
+
+		long interval = this.getValidationInterval();
+		if (interval > 0 && this.validated && System.nanoTime() - this.lastValidation < TimeUnit.MILLISECONDS.toNanos(interval)) {
+			return true;
+		}
+
+		Future<?> future;
+		try {
+			future = VALIDATION_EXECUTOR.submit(check);
+		} catch (RejectedExecutionException e) {
+			return false;
+		}
+		try {
+			if (timeout == 0) {
+				future.get();
+			} else {
+				future.get(timeout, TimeUnit.SECONDS);
+			}
+		} catch (TimeoutException e) {
+			// Interrupting the check would close the channel of the connection, it is left to finish instead
+			future.cancel(false);
+			return false;
+		} catch (ExecutionException e) {
+			return false;
+		} catch (InterruptedException e) {
+			future.cancel(false);
+			Thread.currentThread().interrupt();
+			return false;
+		}
+
+		this.lastValidation = System.nanoTime();
+		this.validated = true;
+		return true;
+	}
+
 	/*-----------------------------*/
 	/*       Abstract method       */
 	/*-----------------------------*/
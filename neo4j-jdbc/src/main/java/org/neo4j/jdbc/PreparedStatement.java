@@ -56,8 +56,9 @@ public abstract class PreparedStatement extends Statement implements java.sql.Pr
 	 */
 	protected PreparedStatement(Connection connection, String rawStatement) {
 		super(connection);
-		this.statement = PreparedStatementBuilder.replacePlaceholders(rawStatement);
-		this.parametersNumber = PreparedStatementBuilder.namedParameterCount(statement);
+		PreparedStatementBuilder.ParsedStatement parsed = PreparedStatementBuilder.parse(rawStatement);
+		this.statement = parsed.getStatement();
+		this.parametersNumber = parsed.getParameterCount();
 		this.parameters = new HashMap<>(this.parametersNumber);
 	}
 
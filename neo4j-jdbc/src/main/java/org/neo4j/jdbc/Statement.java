@@ -36,6 +36,7 @@ public abstract class Statement implements java.sql.Statement {
 	protected int        currentUpdateCount;
 	private   int        maxRows;
 	private   int        queryTimeout;
+	private   int        fetchSize;
 
 	/**
 	 * Default constructor with JDBC connection.
@@ -63,6 +64,16 @@ public abstract class Statement implements java.sql.Statement {
 		}
 	}
 
+	/**
+	 * Close the ResultSet of the previous execution, if it is still open, before this statement is executed again.
+	 */
+	protected void closeCurrentResultSet() throws SQLException {
+		if (this.currentResultSet != null && !this.currentResultSet.isClosed()) {
+			this.currentResultSet.close();
+		}
+		this.currentResultSet = null;
+	}
+
 	/*------------------------------------*/
 	/*       Default implementation       */
 	/*------------------------------------*/
@@ -144,6 +155,15 @@ public abstract class Statement implements java.sql.Statement {
 		if (rows != Integer.MIN_VALUE && (this.getMaxRows() > 0 && rows > this.getMaxRows())) {
 			throw new UnsupportedOperationException("Not implemented yet. => maxRow :" + getMaxRows() + " rows :" + rows);
 		}
+		this.fetchSize = rows > 0 ? rows : 0;
+	}
+
+	/**
+	 * The fetch size hint, <code>0</code> if none was given.
+	 */
+	@Override public int getFetchSize() throws SQLException {
+		this.checkClosed();
+		return this.fetchSize;
 	}
 
 	/**
@@ -257,10 +277,6 @@ public abstract class Statement implements java.sql.Statement {
 		throw ExceptionBuilder.buildUnsupportedOperationException();
 	}
 
-	@Override public int getFetchSize() throws SQLException {
-		throw ExceptionBuilder.buildUnsupportedOperationException();
-	}
-
 	@Override public boolean getMoreResults(int current) throws SQLException {
 		throw ExceptionBuilder.buildUnsupportedOperationException();
 	}
@@ -19,8 +19,7 @@
  */
 package org.neo4j.jdbc.utils;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.*;
 
 /**
  * This class contains static methods used to process a raw statement and create a valid string to be used as preparedStatement in neo4j
@@ -30,6 +29,32 @@ import java.util.regex.Pattern;
  */
 public class PreparedStatementBuilder {
 
+	/**
+	 * Name of the parameter that holds the rows of a batch rewritten with UNWIND.
+	 */
+	public static final String UNWIND_BATCH_PARAMETER = "__batch";
+
+	private static final String UNWIND_ROW = "__row";
+
+	/**
+	 * Keywords that change the meaning of a statement run once per row of an UNWIND, or that can't follow one.
+	 */
+	private static final Set<String> UNWIND_UNSAFE_KEYWORDS = new HashSet<>(
+			Arrays.asList("WITH", "RETURN", "UNION", "ORDER", "SKIP", "LIMIT", "DISTINCT", "CALL", "LOAD", "PERIODIC", "EXPLAIN", "PROFILE",
+					"INDEX", "CONSTRAINT", "START", UNWIND_ROW.toUpperCase(), UNWIND_BATCH_PARAMETER.toUpperCase()));
+
+	/**
+	 * Max number of parsed statements kept by <code>parse</code>.
+	 */
+	private static final int PARSED_CACHE_SIZE = 1000;
+
+	private static final Map<String, ParsedStatement> PARSED = Collections.synchronizedMap(
+			new LinkedHashMap<String, ParsedStatement>(16, 0.75F, true) {
+				@Override protected boolean removeEldestEntry(Map.Entry<String, ParsedStatement> eldest) {
+					return this.size() > PARSED_CACHE_SIZE;
+				}
+			});
+
 	/**
 	 * This method return a String that is the original raw string with all valid placeholders replaced with neo4j curly brackets notation for parameters.
 	 * <br>
@@ -39,18 +64,7 @@ public class PreparedStatementBuilder {
 	 * @return
 	 */
 	public static String replacePlaceholders(String raw) {
-		int index = 1;
-		String digested = raw;
-
-		String regex = "\\?(?=[^\"]*(?:\"[^\"]*\"[^\"]*)*$)";
-		Matcher matcher = Pattern.compile(regex).matcher(digested);
-
-		while (matcher.find()) {
-			digested = digested.replaceFirst(regex, "{" + index + "}");
-			index++;
-		}
-
-		return digested;
+		return parse(raw).getStatement();
 	}
 
 	/**
@@ -60,13 +74,224 @@ public class PreparedStatementBuilder {
 	 * @return
 	 */
 	public static int namedParameterCount(String raw) {
+		return parse(raw).getParameterCount();
+	}
+
+	/**
+	 * Parse a raw statement : its <code>?</code> are replaced with numbered placeholders and its placeholders are
+	 * counted, in a single pass that skips strings, quoted names and comments.
+	 * The results are cached by raw statement.
+	 *
+	 * @param raw The statement
+	 * @return The parsed statement
+	 */
+	public static ParsedStatement parse(String raw) {
+		ParsedStatement parsed = PARSED.get(raw);
+		if (parsed == null) {
+			parsed = parseStatement(raw);
+			PARSED.put(raw, parsed);
+		}
+		return parsed;
+	}
+
+	private static ParsedStatement parseStatement(String raw) {
+		StringBuilder digested = new StringBuilder(raw.length() + 16);
+		List<Integer> positions = new ArrayList<>();
+		int index = 1;
 		int max = 0;
-		String regex = "\\{\\s*`?\\s*(\\d+)\\s*`?\\s*\\}(?=[^\"]*(\"[^\"]*\"[^\"]*)*$)";
-		Matcher matcher = Pattern.compile(regex).matcher(raw);
-		while (matcher.find()) {
-			max = Math.max(Integer.parseInt(matcher.group(1)),max);
+		int length = raw.length();
+		int i = 0;
+		while (i < length) {
+			char c = raw.charAt(i);
+			int end;
+			if (c == '"' || c == '\'' || c == '`') {
+				// string or quoted name
+				end = i + 1;
+				while (end < length && raw.charAt(end) != c) {
+					end += (raw.charAt(end) == '\\' && c != '`') ? 2 : 1;
+				}
+				end = Math.min(end + 1, length);
+			} else if (raw.startsWith("//", i)) {
+				end = raw.indexOf('\n', i);
+				end = end == -1 ? length : end;
+			} else if (raw.startsWith("/*", i)) {
+				end = raw.indexOf("*/", i + 2);
+				end = end == -1 ? length : end + 2;
+			} else if (c == '?') {
+				positions.add(digested.length());
+				digested.append('{').append(index).append('}');
+				max = Math.max(max, index++);
+				i++;
+				continue;
+			} else if (c == '{') {
+				// placeholder like {1} or { `1` }, otherwise a map literal
+				int start = skipSpaces(raw, i + 1);
+				boolean quoted = start < length && raw.charAt(start) == '`';
+				start = quoted ? skipSpaces(raw, start + 1) : start;
+				int digits = start;
+				while (digits < length && Character.isDigit(raw.charAt(digits))) {
+					digits++;
+				}
+				end = skipSpaces(raw, digits);
+				if (quoted && end < length && raw.charAt(end) == '`') {
+					end = skipSpaces(raw, end + 1);
+				}
+				if (digits > start && end < length && raw.charAt(end) == '}') {
+					positions.add(digested.length());
+					max = Math.max(max, Integer.parseInt(raw.substring(start, digits)));
+					end++;
+				} else {
+					end = i + 1;
+				}
+			} else {
+				end = i + 1;
+			}
+			digested.append(raw, i, end);
+			i = end;
+		}
+
+		int[] offsets = new int[positions.size()];
+		for (int p = 0; p < offsets.length; p++) {
+			offsets[p] = positions.get(p);
+		}
+		return new ParsedStatement(digested.toString(), max, offsets);
+	}
+
+	private static int skipSpaces(String raw, int i) {
+		while (i < raw.length() && Character.isWhitespace(raw.charAt(i))) {
+			i++;
+		}
+		return i;
+	}
+
+	/**
+	 * This method rewrites a statement with placeholders so that it is run once for each row of the list parameter
+	 * <code>UNWIND_BATCH_PARAMETER</code>, each row being the map of the placeholders values.
+	 * <br>
+	 * i.e. CREATE (:User {name: {1}}) is transformed in UNWIND {__batch} AS __row CREATE (:User {name: __row.`1`})
+	 *
+	 * @param statement The statement, with its placeholders replaced
+	 * @return The rewritten statement, or <code>null</code> if it can't be rewritten safely
+	 */
+	public static String toUnwindBatch(String statement) {
+		StringBuilder rewritten = new StringBuilder("UNWIND {" + UNWIND_BATCH_PARAMETER + "} AS " + UNWIND_ROW + " ");
+		int length = statement.length();
+		int i = 0;
+		while (i < length) {
+			char c = statement.charAt(i);
+			int end;
+			if (c == '"' || c == '\'' || c == '`') {
+				// string or quoted name
+				end = i + 1;
+				while (end < length && statement.charAt(end) != c) {
+					end += (statement.charAt(end) == '\\' && c != '`') ? 2 : 1;
+				}
+				if (end >= length) {
+					return null;
+				}
+				rewritten.append(statement, i, ++end);
+			} else if (statement.startsWith("//", i)) {
+				end = statement.indexOf('\n', i);
+				end = end == -1 ? length : end;
+				rewritten.append(statement, i, end);
+			} else if (statement.startsWith("/*", i)) {
+				end = statement.indexOf("*/", i + 2);
+				if (end == -1) {
+					return null;
+				}
+				end += 2;
+				rewritten.append(statement, i, end);
+			} else if (c == '{') {
+				end = statement.indexOf('}', i);
+				String content = end == -1 ? "" : statement.substring(i + 1, end).trim();
+				if (content.matches("\\d+")) {
+					// placeholder
+					rewritten.append(UNWIND_ROW).append(".`").append(content).append('`');
+					end++;
+				} else if (content.matches("`?\\w+`?")) {
+					// named parameter, that is not in the rows
+					return null;
+				} else {
+					// map literal
+					rewritten.append(c);
+					end = i + 1;
+				}
+			} else if (Character.isLetter(c) || c == '_') {
+				end = i + 1;
+				while (end < length && (Character.isLetterOrDigit(statement.charAt(end)) || statement.charAt(end) == '_')) {
+					end++;
+				}
+				if (UNWIND_UNSAFE_KEYWORDS.contains(statement.substring(i, end).toUpperCase())) {
+					return null;
+				}
+				rewritten.append(statement, i, end);
+			} else if (c == '$') {
+				return null;
+			} else if (c == ';') {
+				if (!statement.substring(i + 1).trim().isEmpty()) {
+					return null;
+				}
+				end = length;
+			} else {
+				rewritten.append(c);
+				end = i + 1;
+			}
+			i = end;
+		}
+		return rewritten.toString();
+	}
+
+	/**
+	 * Split the parameters of a batch into the parameters of statements rewritten by <code>toUnwindBatch</code>.
+	 *
+	 * @param rows The parameters of each row of the batch
+	 * @param size The max number of rows by statement
+	 * @return The parameters of each statement
+	 */
+	public static List<Map<String, Object>> toUnwindBatchParameters(List<? extends Map<String, Object>> rows, int size) {
+		List<Map<String, Object>> parameters = new ArrayList<>();
+		for (int from = 0; from < rows.size(); from += size) {
+			List<Map<String, Object>> chunk = new ArrayList<Map<String, Object>>(rows.subList(from, (int) Math.min((long) from + size, rows.size())));
+			parameters.add(Collections.<String, Object>singletonMap(UNWIND_BATCH_PARAMETER, chunk));
+		}
+		return parameters;
+	}
+
+	/**
+	 * A statement parsed by <code>parse</code>.
+	 */
+	public static final class ParsedStatement {
+
+		private final String statement;
+		private final int    parameterCount;
+		private final int[]  positions;
+
+		ParsedStatement(String statement, int parameterCount, int[] positions) {
+			this.statement = statement;
+			this.parameterCount = parameterCount;
+			this.positions = positions;
+		}
+
+		/**
+		 * The statement, with its <code>?</code> replaced with numbered placeholders.
+		 */
+		public String getStatement() {
+			return statement;
+		}
+
+		/**
+		 * The highest placeholder number.
+		 */
+		public int getParameterCount() {
+			return parameterCount;
+		}
+
+		/**
+		 * Offsets of the placeholders in the statement.
+		 */
+		public int[] getPositions() {
+			return positions.clone();
 		}
-		return max;
 	}
 
 }
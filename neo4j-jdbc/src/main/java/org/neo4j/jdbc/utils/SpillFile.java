@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 17/10/2026
+ */
+package org.neo4j.jdbc.utils;
+
+import java.io.*;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.*;
+
+/**
+ * A temporary file where the rows of a result that don't fit in memory are written in a compact binary format.
+ * Rows are written first, then read back in the same order through a buffer reused for all the rows.
+ * The file is deleted when this object is closed, or at the JVM exit if it can't be deleted then.
+ *
+ * @author AgileLARUS
+ * @since 3.0.0
+ */
+public class SpillFile implements Closeable {
+
+	protected static final byte NULL        = 0;
+	protected static final byte TRUE        = 1;
+	protected static final byte FALSE       = 2;
+	protected static final byte INTEGER     = 3;
+	protected static final byte LONG        = 4;
+	protected static final byte DOUBLE      = 5;
+	protected static final byte STRING      = 6;
+	protected static final byte LIST        = 7;
+	protected static final byte MAP         = 8;
+	protected static final byte BIG_INTEGER = 9;
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	/**
+	 * Size of the parts of the file read at once, the buffer grows for bigger rows.
+	 */
+	private static final int BUFFER = 64 * 1024;
+
+	private final File file;
+
+	/**
+	 * Output of the file, <code>null</code> once the reading has started.
+	 */
+	private DataOutputStream output;
+
+	/**
+	 * Buffer of the row being written, to know its size.
+	 */
+	private final ByteArrayOutputStream rowBuffer = new ByteArrayOutputStream();
+	private final DataOutputStream      rowOutput = new DataOutputStream(rowBuffer);
+
+	private FileChannel channel;
+
+	/**
+	 * Bytes read from the file and not decoded yet.
+	 */
+	private ByteBuffer buffer;
+
+	private int rows = 0;
+	private int read = 0;
+
+	/**
+	 * Create an empty temporary file.
+	 */
+	public SpillFile() throws IOException {
+		this.file = File.createTempFile("neo4j-jdbc-", ".spill");
+		this.output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 64 * 1024));
+	}
+
+	/**
+	 * Number of rows written.
+	 */
+	public int size() {
+		return rows;
+	}
+
+	/**
+	 * Append a row.
+	 *
+	 * @param values The values of the row
+	 * @throws IOException           If the file can't be written, or a value has an unsupported type
+	 * @throws IllegalStateException If the reading has started
+	 */
+	public void write(Object[] values) throws IOException {
+		if (output == null) {
+			throw new IllegalStateException("Rows can't be written to a spill file once it is read");
+		}
+		rowBuffer.reset();
+		rowOutput.writeInt(values.length);
+		for (Object value : values) {
+			this.writeValue(rowOutput, value);
+		}
+		output.writeInt(rowBuffer.size());
+		rowBuffer.writeTo(output);
+		rows++;
+	}
+
+	/**
+	 * Read the next row.
+	 *
+	 * @return The values of the row, or <code>null</code> if all the rows have been read
+	 */
+	public Object[] read() throws IOException {
+		if (read >= rows) {
+			return null;
+		}
+		if (output != null) {
+			output.close();
+			output = null;
+			channel = new RandomAccessFile(file, "r").getChannel();
+			buffer = ByteBuffer.allocate(BUFFER);
+			buffer.limit(0);
+		}
+
+		ByteBuffer buffer = this.fill(4);
+		buffer = this.fill(buffer.getInt());
+		Object[] values = new Object[buffer.getInt()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = this.readValue(buffer);
+		}
+		read++;
+		return values;
+	}
+
+	/**
+	 * Make sure the buffer has the given number of bytes from its current position.
+	 */
+	private ByteBuffer fill(int length) throws IOException {
+		if (buffer.remaining() < length) {
+			buffer.compact();
+			if (buffer.capacity() < length) {
+				ByteBuffer bigger = ByteBuffer.allocate(Math.max(length, 2 * buffer.capacity()));
+				buffer.flip();
+				bigger.put(buffer);
+				buffer = bigger;
+			}
+			while (buffer.position() < length) {
+				if (channel.read(buffer) < 0) {
+					throw new EOFException("Truncated spill file");
+				}
+			}
+			buffer.flip();
+		}
+		return buffer;
+	}
+
+	/**
+	 * Write a value : <code>null</code>, a boolean, a number, a string, or a list or a map of them.
+	 *
+	 * @param out   The output of the row
+	 * @param value The value
+	 * @throws IOException If the type of the value is not supported
+	 */
+	protected void writeValue(DataOutput out, Object value) throws IOException {
+		if (value == null) {
+			out.writeByte(NULL);
+		} else if (value instanceof Boolean) {
+			out.writeByte((Boolean) value ? TRUE : FALSE);
+		} else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+			out.writeByte(INTEGER);
+			out.writeInt(((Number) value).intValue());
+		} else if (value instanceof Long) {
+			out.writeByte(LONG);
+			out.writeLong((Long) value);
+		} else if (value instanceof Double || value instanceof Float) {
+			out.writeByte(DOUBLE);
+			out.writeDouble(((Number) value).doubleValue());
+		} else if (value instanceof String) {
+			out.writeByte(STRING);
+			this.writeString(out, (String) value);
+		} else if (value instanceof BigInteger) {
+			out.writeByte(BIG_INTEGER);
+			this.writeString(out, value.toString());
+		} else if (value instanceof Collection) {
+			out.writeByte(LIST);
+			out.writeInt(((Collection) value).size());
+			for (Object element : (Collection) value) {
+				this.writeValue(out, element);
+			}
+		} else if (value instanceof Map) {
+			out.writeByte(MAP);
+			out.writeInt(((Map) value).size());
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				this.writeString(out, String.valueOf(entry.getKey()));
+				this.writeValue(out, entry.getValue());
+			}
+		} else {
+			throw new IOException("Can't write a value of type " + value.getClass().getName());
+		}
+	}
+
+	/**
+	 * Read a value written by <code>writeValue</code>.
+	 *
+	 * @param in The buffer of the row
+	 * @return The value
+	 */
+	protected Object readValue(ByteBuffer in) throws IOException {
+		byte type = in.get();
+		switch (type) {
+			case NULL:
+				return null;
+			case TRUE:
+				return Boolean.TRUE;
+			case FALSE:
+				return Boolean.FALSE;
+			case INTEGER:
+				return in.getInt();
+			case LONG:
+				return in.getLong();
+			case DOUBLE:
+				return in.getDouble();
+			case STRING:
+				return this.readString(in);
+			case BIG_INTEGER:
+				return new BigInteger(this.readString(in));
+			case LIST:
+				int size = in.getInt();
+				List<Object> list = new ArrayList<>(size);
+				for (int i = 0; i < size; i++) {
+					list.add(this.readValue(in));
+				}
+				return list;
+			case MAP:
+				int entries = in.getInt();
+				Map<String, Object> map = new LinkedHashMap<>(entries * 2);
+				for (int i = 0; i < entries; i++) {
+					String key = this.readString(in);
+					map.put(key, this.readValue(in));
+				}
+				return map;
+			default:
+				throw new IOException("Unknown type " + type + " in spill file");
+		}
+	}
+
+	protected void writeString(DataOutput out, String value) throws IOException {
+		byte[] bytes = value.getBytes(UTF8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	protected String readString(ByteBuffer in) {
+		byte[] bytes = new byte[in.getInt()];
+		in.get(bytes);
+		return new String(bytes, UTF8);
+	}
+
+	/**
+	 * Close and delete the file.
+	 */
+	@Override public void close() {
+		try {
+			if (output != null) {
+				output.close();
+			}
+			if (channel != null) {
+				channel.close();
+			}
+		} catch (IOException e) {
+			// the file is deleted anyway
+		}
+		output = null;
+		channel = null;
+		buffer = null;
+		if (!file.delete() && file.exists()) {
+			file.deleteOnExit();
+		}
+	}
+
+	/**
+	 * Estimate the memory used by a value once decoded : a boolean, a number, a string, or a list or a map of them.
+	 *
+	 * @param value The value
+	 * @return An approximate size in bytes
+	 */
+	public static long estimateSize(Object value) {
+		if (value == null) {
+			return 8;
+		} else if (value instanceof Boolean || value instanceof Integer) {
+			return 16;
+		} else if (value instanceof Number) {
+			return 24;
+		} else if (value instanceof String) {
+			return 40 + 2 * ((String) value).length();
+		} else if (value instanceof Collection) {
+			long size = 40;
+			for (Object element : (Collection) value) {
+				size += 8 + estimateSize(element);
+			}
+			return size;
+		} else if (value instanceof Map) {
+			long size = 48;
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				size += 32 + estimateSize(entry.getKey()) + estimateSize(entry.getValue());
+			}
+			return size;
+		}
+		return 64;
+	}
+}
@@ -21,8 +21,13 @@ package org.neo4j.jdbc.utils;
 
 import org.junit.Test;
 
+import java.util.*;
+
 import static org.neo4j.jdbc.utils.PreparedStatementBuilder.replacePlaceholders;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertSame;
 
 /**
  * @author AgileLARUS
@@ -64,6 +69,22 @@ public class PreparedStatementBuilderTest {
 		assertEquals("MATCH statement RETURN same WHERE thisIs = \"a string ?\"\nAND thereIsAPlaceholder = {1}\nAND another = {2}", replacePlaceholders(raw));
 	}
 
+	@Test public void replacePlaceholderShouldNotReplaceQuestionMarksInQuotesOrComments() {
+		String raw = "MATCH (n:`Label?`) // comment?\nWHERE n.name = 'single ?' AND n.text = \"escaped \\\" ?\" /* block ? */ AND n.value = ?";
+		assertEquals("MATCH (n:`Label?`) // comment?\nWHERE n.name = 'single ?' AND n.text = \"escaped \\\" ?\" /* block ? */ AND n.value = {1}",
+				replacePlaceholders(raw));
+	}
+
+	@Test public void parseShouldReturnPlaceholdersPositionsAndCacheTheResult() {
+		String raw = "CREATE (n:User {name: ?, age: { `2` }})";
+		PreparedStatementBuilder.ParsedStatement parsed = PreparedStatementBuilder.parse(raw);
+
+		assertEquals("CREATE (n:User {name: {1}, age: { `2` }})", parsed.getStatement());
+		assertEquals(2, parsed.getParameterCount());
+		assertArrayEquals(new int[] { 22, 32 }, parsed.getPositions());
+		assertSame(parsed, PreparedStatementBuilder.parse(raw));
+	}
+
 	@Test public void placeholdersCountShouldCountCorrectlyIfNoPlaceholdersArePresent() {
 		String raw = "MATCH n RETURN n";
 		assertEquals(0, PreparedStatementBuilder.namedParameterCount(raw));
@@ -83,4 +104,39 @@ public class PreparedStatementBuilderTest {
 		String raw = "MATCH n RETURN n WHERE param = {2} AND paramString = \"string{3}\"\n" + "AND param2 = {1}";
 		assertEquals(2, PreparedStatementBuilder.namedParameterCount(raw));
 	}
+
+	@Test public void toUnwindBatchShouldReplacePlaceholdersWithRowFields() {
+		String raw = "CREATE (n:User {name: {1}, surname:{2}, text: \"{3} and 'quoted'\"});";
+		assertEquals("UNWIND {__batch} AS __row CREATE (n:User {name: __row.`1`, surname:__row.`2`, text: \"{3} and 'quoted'\"})",
+				PreparedStatementBuilder.toUnwindBatch(raw));
+	}
+
+	@Test public void toUnwindBatchShouldKeepKeywordsInStringsAndComments() {
+		String raw = "MATCH (n:User) WHERE n.name = 'return' // with\nSET n.value = {1}";
+		assertEquals("UNWIND {__batch} AS __row MATCH (n:User) WHERE n.name = 'return' // with\nSET n.value = __row.`1`",
+				PreparedStatementBuilder.toUnwindBatch(raw));
+	}
+
+	@Test public void toUnwindBatchShouldReturnNullIfStatementCantBeRewritten() {
+		assertNull(PreparedStatementBuilder.toUnwindBatch("CREATE (n:User {name: {1}}) RETURN n"));
+		assertNull(PreparedStatementBuilder.toUnwindBatch("MATCH (n) WITH count(n) AS c CREATE (:Count {c: c, name: {1}})"));
+		assertNull(PreparedStatementBuilder.toUnwindBatch("CREATE (n:User {name: {name}})"));
+		assertNull(PreparedStatementBuilder.toUnwindBatch("CREATE (n:User {name: {1}}); CREATE (m:User)"));
+		assertNull(PreparedStatementBuilder.toUnwindBatch("USING PERIODIC COMMIT LOAD CSV FROM {1} AS line CREATE (:Line)"));
+		assertNull(PreparedStatementBuilder.toUnwindBatch("CREATE (n:User {name: 'unterminated})"));
+	}
+
+	@Test public void toUnwindBatchParametersShouldSplitRows() {
+		List<Map<String, Object>> rows = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			rows.add(Collections.<String, Object>singletonMap("1", i));
+		}
+
+		List<Map<String, Object>> parameters = PreparedStatementBuilder.toUnwindBatchParameters(rows, 2);
+
+		assertEquals(3, parameters.size());
+		assertEquals(rows.subList(0, 2), parameters.get(0).get(PreparedStatementBuilder.UNWIND_BATCH_PARAMETER));
+		assertEquals(rows.subList(4, 5), parameters.get(2).get(PreparedStatementBuilder.UNWIND_BATCH_PARAMETER));
+		assertEquals(1, PreparedStatementBuilder.toUnwindBatchParameters(rows, Integer.MAX_VALUE).size());
+	}
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2016 LARUS Business Automation [http://www.larus-ba.it]
+ * <p>
+ * This file is part of the "LARUS Integration Framework for Neo4j".
+ * <p>
+ * The "LARUS Integration Framework for Neo4j" is licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * <p>
+ * Created on 17/10/2026
+ */
+package org.neo4j.jdbc.utils;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author AgileLARUS
+ * @since 3.0.0
+ */
+public class SpillFileTest {
+
+	@Test public void rowsShouldBeReadInTheOrderTheyWereWritten() throws IOException {
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("name", "\u00e9t\u00e9");
+		map.put("values", Arrays.asList(1, 2L, null));
+		Object[] row = new Object[] { null, true, false, 1, Long.MAX_VALUE, 1.5, "text", new BigInteger("18446744073709551616"), map,
+				Collections.emptyList() };
+
+		try (SpillFile file = new SpillFile()) {
+			for (int i = 0; i < 1000; i++) {
+				file.write(row);
+				file.write(new Object[] { i });
+			}
+			assertEquals(2000, file.size());
+
+			for (int i = 0; i < 1000; i++) {
+				assertArrayEquals(row, file.read());
+				assertArrayEquals(new Object[] { i }, file.read());
+			}
+			assertNull(file.read());
+		}
+	}
+
+	@Test public void rowsBiggerThanTheBufferShouldBeRead() throws IOException {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 100000; i++) {
+			text.append((char) ('a' + i % 26));
+		}
+		Object[] row = new Object[] { text.toString(), text.reverse().toString() };
+
+		try (SpillFile file = new SpillFile()) {
+			for (int i = 0; i < 10; i++) {
+				file.write(row);
+				file.write(new Object[] { i });
+			}
+
+			for (int i = 0; i < 10; i++) {
+				assertArrayEquals(row, file.read());
+				assertArrayEquals(new Object[] { i }, file.read());
+			}
+			assertNull(file.read());
+		}
+	}
+
+	@Test(expected = IllegalStateException.class) public void writeAfterReadShouldFail() throws IOException {
+		try (SpillFile file = new SpillFile()) {
+			file.write(new Object[] { 1 });
+			file.read();
+			file.write(new Object[] { 2 });
+		}
+	}
+
+	@Test(expected = IOException.class) public void unsupportedValueShouldFail() throws IOException {
+		try (SpillFile file = new SpillFile()) {
+			file.write(new Object[] { new Object() });
+		}
+	}
+
+	@Test public void estimateSizeShouldGrowWithTheValue() {
+		assertTrue(SpillFile.estimateSize("a longer string") > SpillFile.estimateSize("a"));
+		assertTrue(SpillFile.estimateSize(Arrays.asList(1, 2, 3)) > SpillFile.estimateSize(Collections.emptyList()));
+	}
+}